@@ -2,6 +2,7 @@ import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.regex.Matcher;
@@ -9,13 +10,25 @@ import java.util.regex.Pattern;
 
 public class Backend implements BackendInterface {
     private GraphADT<String, Double> graph; // private variable for storing graph object for this class
+    private CacheMap<String, List<String>> pathCache; // shortest paths by start and end location, or null
 
     /**
      * Constructor for the Backend class
      * @param graph an instance of the GraphADT interface
      */
     public Backend(GraphADT<String,Double> graph) {
+        this(graph, null);
+    }
+
+    /**
+     * Constructor for the Backend class that keeps the shortest paths it finds in a cache, which is
+     * emptied whenever graph data is loaded. The graph must only be changed through this Backend
+     * @param graph an instance of the GraphADT interface
+     * @param pathCache the cache for shortest paths, or null to search the graph every time
+     */
+    public Backend(GraphADT<String,Double> graph, CacheMap<String, List<String>> pathCache) {
         this.graph = graph;
+        this.pathCache = pathCache;
     }
 
     /**
@@ -25,6 +38,9 @@ public class Backend implements BackendInterface {
      */
     @Override
     public void loadGraphData(String filename) throws IOException {
+        if(pathCache != null) {
+            pathCache.clear(); // cached paths belong to the previous graph
+        }
         List<String> nodes = graph.getAllNodes(); // get current nodes in the graph
         List<String> nodesToRemove = new ArrayList<>(nodes);
         if(!nodes.isEmpty()) {
@@ -37,6 +53,12 @@ public class Backend implements BackendInterface {
         String edgePattern = "\"(.*?)\" -> \"(.*?)\" \\[seconds=(\\d+\\.\\d+)]"; // regex edge pattern using groups in the graph (finds node -> node with time in seconds) 
         Pattern pattern = Pattern.compile(edgePattern);
 
+        // collect every location (in order of first appearance) and edge before inserting any of them,
+        // so that the graph can be sized for all of them at once
+        LinkedHashSet<String> locations = new LinkedHashSet<>();
+        List<String> starts = new ArrayList<>();
+        List<String> ends = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
         while ((line = reader.readLine()) != null) {
             // ignore lines that are empty or contain metadata like "digraph campus"
             if (line.trim().isEmpty() || line.contains("digraph") || line.contains("{") || line.contains("}")) {
@@ -47,17 +69,27 @@ public class Backend implements BackendInterface {
             if (matcher.find()) {
                 String startNode = matcher.group(1).trim();
                 String endNode = matcher.group(2).trim();
-                double weight = Double.parseDouble(matcher.group(3));
-
+                locations.add(startNode);
+                locations.add(endNode);
+                starts.add(startNode);
+                ends.add(endNode);
+                weights.add(Double.parseDouble(matcher.group(3)));
+            }
+        }
+        if (graph instanceof DijkstraGraph<String, Double> dijkstraGraph) {
+            // the graph was emptied above, so every location is new
+            dijkstraGraph.insertNodes(new ArrayList<>(locations), true);
+            dijkstraGraph.insertEdges(starts, ends, weights, false);
+        } else {
+            for (String location : locations) {
                 // insert the nodes if they are not already in the graph
-                if (!graph.containsNode(startNode)) {
-                    graph.insertNode(startNode);
-                }
-                if (!graph.containsNode(endNode)) {
-                    graph.insertNode(endNode);
+                if (!graph.containsNode(location)) {
+                    graph.insertNode(location);
                 }
+            }
+            for (int i = 0; i < starts.size(); i++) {
                 // insert the edge between the nodes with the given weight
-                graph.insertEdge(startNode, endNode, weight);
+                graph.insertEdge(starts.get(i), ends.get(i), weights.get(i));
             }
         }
         reader.close();
@@ -80,11 +112,19 @@ public class Backend implements BackendInterface {
     @Override
     public List<String> findLocationsOnShortestPath(String startLocation, String endLocation) {
         List<String> returnList = new ArrayList<>();
+        String cacheKey = startLocation + "\n" + endLocation;
+        List<String> cached = pathCache == null ? null : pathCache.getOrDefault(cacheKey, null);
+        if(cached != null) {
+            return new ArrayList<>(cached); // callers may change the list they get
+        }
         try {
             returnList = graph.shortestPathData(startLocation, endLocation);
         } catch (Exception e) {
             throw e; // if no path found, then rethrow error
         }
+        if(pathCache != null) {
+            pathCache.putIfAbsent(cacheKey, List.copyOf(returnList)); // failed searches are not cached
+        }
         return returnList; // return empty list in case of no path
     }
 
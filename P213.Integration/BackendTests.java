@@ -191,4 +191,54 @@ public class BackendTests {
         response = frontend.generateLongestLocationListFromResponseHTML(" ");
         Assertions.assertEquals("<p>Error: Starting node does not exist in graph. or no reachable locations</p>", response, "Expected to return an error statement listing illegal arguments were passed.");
     }
+
+    /**
+     * Tests the whole-graph passes of BaseGraph on the campus data, which should visit every node and edge exactly once
+     */
+    @Test
+    public void integrationTest5() {
+        DijkstraGraph<String,Double> graph = new DijkstraGraph<>();
+        Backend backend = new Backend(graph);
+        try {
+            backend.loadGraphData("campus.dot"); // read data from file
+        } catch (IOException e) {
+            System.out.println(e); // in case of an exception being thrown, which is not expected
+        }
+        List<String> visitedNodes = new ArrayList<>();
+        graph.forEachNode(visitedNodes::add);
+        Assertions.assertEquals(graph.getAllNodes(), visitedNodes, "Expected forEachNode to visit the nodes in the same order as getAllNodes.");
+        int[] visitedEdges = new int[1];
+        graph.forEachEdge((pred, succ, weight) -> {
+            Assertions.assertEquals(graph.getEdge(pred, succ), weight, "Expected each visited edge to carry its stored weight.");
+            visitedEdges[0]++;
+        });
+        Assertions.assertEquals(graph.getEdgeCount(), visitedEdges[0], "Expected forEachEdge to visit every edge once.");
+    }
+
+    /**
+     * Tests that a Backend with a path cache answers repeated shortest path requests from the cache, and empties it when data is loaded again
+     */
+    @Test
+    public void integrationTest6() {
+        DijkstraGraph<String,Double> graph = new DijkstraGraph<>();
+        CacheMap<String, List<String>> cache = new CacheMap<>(16, CacheMap.Policy.LRU);
+        Backend backend = new Backend(graph, cache);
+        try {
+            backend.loadGraphData("campus.dot"); // read data from file
+        } catch (IOException e) {
+            System.out.println(e); // in case of an exception being thrown, which is not expected
+        }
+        List<String> path = backend.findLocationsOnShortestPath("Union South", "Weeks Hall for Geological Sciences");
+        Assertions.assertEquals(path, backend.findLocationsOnShortestPath("Union South", "Weeks Hall for Geological Sciences"), "Expected the cached path to match the searched one.");
+        Assertions.assertEquals(1, cache.getHitCount(), "Expected the second request to be answered from the cache.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> backend.findLocationsOnShortestPath("Union South", "Nowhere"), "Expected missing locations to still throw.");
+        Assertions.assertEquals(1, cache.getSize(), "Expected failed searches not to be cached.");
+        try {
+            backend.loadGraphData("campus.dot"); // read data from file again
+        } catch (IOException e) {
+            System.out.println(e);
+        }
+        Assertions.assertEquals(0, cache.getSize(), "Expected loading data to empty the cache.");
+    }
+
 }
@@ -1,6 +1,11 @@
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
-import java.util.LinkedList;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
 
 /**
  * This BaseGraph class contains stores a set of nodes, along with a set of
@@ -8,11 +13,16 @@ import java.util.NoSuchElementException;
  */
 public class BaseGraph<NodeType, EdgeType extends Number> {
 
-    // Each node contains unique data along with two lists of directed edges
+    // Each node contains unique data along with two lists of directed edges,
+    // and a dense id that is its position in nodesById. Once a node has more
+    // leaving edges than successorIndexThreshold, those edges are also indexed
+    // by successor data, so finding one no longer scans the whole list
     protected class Node {
         public NodeType data;
-        public List<Edge> edgesLeaving = new LinkedList<>();
-        public List<Edge> edgesEntering = new LinkedList<>();
+        public int id = -1;
+        public EdgeList edgesLeaving = new EdgeList(true);
+        public EdgeList edgesEntering = new EdgeList(false);
+        public HashtableMap<NodeType, Edge> successorIndex = null;
 
         public Node(NodeType data) {
             this.data = data;
@@ -22,11 +32,19 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     // Nodes can be retrieved from this map by their unique data
     protected MapADT<NodeType, Node> nodes = null;
 
-    // Each edge contains data/weight, and two nodes that it connects
+    // And from this list by their id. Together with the map it is the graph's
+    // node dictionary: ids run from 0 to getNodeCount() - 1, so algorithms can
+    // keep per-node state in arrays indexed by id instead of maps keyed by data
+    protected ArrayList<Node> nodesById = new ArrayList<>();
+
+    // Each edge contains data/weight, and two nodes that it connects, along
+    // with its positions in the predecessor's and successor's edge lists
     protected class Edge {
         public EdgeType data; // the weight or cost of this edge
         public Node predecessor;
         public Node successor;
+        public int leavingPosition = -1;
+        public int enteringPosition = -1;
 
         public Edge(EdgeType data, Node pred, Node succ) {
             this.data = data;
@@ -35,9 +53,81 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         }
     }
 
+    // A growable array of edges in which every edge records its own position,
+    // so an edge is removed in constant time by moving the last edge into its
+    // slot, instead of by searching the list. Removal therefore changes the
+    // order of the remaining edges
+    protected class EdgeList extends AbstractList<Edge> {
+        private final boolean leaving; // true for a list of edges leaving a node
+        private Object[] edges = new Object[2];
+        private int size = 0;
+
+        public EdgeList(boolean leaving) {
+            this.leaving = leaving;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Edge get(int index) {
+            Objects.checkIndex(index, size);
+            return (Edge) edges[index];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean add(Edge edge) {
+            if (size == edges.length)
+                edges = Arrays.copyOf(edges, size * 2);
+            setPosition(edge, size);
+            edges[size++] = edge;
+            modCount++;
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean remove(Object o) {
+            if (!(o instanceof BaseGraph.Edge))
+                return false;
+            Edge edge = (Edge) o;
+            int position = leaving ? edge.leavingPosition : edge.enteringPosition;
+            if (position < 0 || position >= size || edges[position] != edge)
+                return false;
+            // move the last edge into the freed slot
+            Edge last = (Edge) edges[--size];
+            edges[position] = last;
+            setPosition(last, position);
+            edges[size] = null;
+            setPosition(edge, -1);
+            modCount++;
+            return true;
+        }
+
+        private void setPosition(Edge edge, int position) {
+            if (leaving)
+                edge.leavingPosition = position;
+            else
+                edge.enteringPosition = position;
+        }
+    }
+
     protected int edgeCount = 0;
     // Edges can be retrieved through the edge lists in either connected node
 
+    // Nodes with more leaving edges than this index them by successor data
+    public static final int DEFAULT_SUCCESSOR_INDEX_THRESHOLD = 8;
+    protected int successorIndexThreshold = DEFAULT_SUCCESSOR_INDEX_THRESHOLD;
+
+    // Counts changes to the nodes and edges, so a cached CompactGraph can tell
+    // whether it is still up to date
+    protected int modCount = 0;
+    private CompactGraph<NodeType> compacted = null;
+    private int compactedModCount = 0;
+
     /**
      * Constructor for BaseGraph that provides the map the graph uses.
      * 
@@ -57,12 +147,56 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      * @throws NullPointerException if data is null
      */
     public boolean insertNode(NodeType data) {
-        if (nodes.containsKey(data))
-            return false; // throws NPE when data's null
-        nodes.put(data, new Node(data));
+        Node newNode = new Node(data);
+        if (!nodes.putIfAbsent(data, newNode)) // throws NPE when data's null
+            return false;
+        assignId(newNode);
+        modCount++;
         return true;
     }
 
+    /**
+     * Give a node that was just added to the node map the next free id.
+     *
+     * @param node the new node
+     */
+    private void assignId(Node node) {
+        node.id = nodesById.size();
+        nodesById.add(node);
+    }
+
+    /**
+     * Insert a batch of new nodes into the graph, sizing the node map for the
+     * whole batch at once.
+     *
+     * @param data         the data items to store in new nodes
+     * @param assumeUnique true when the caller guarantees that no item is
+     *                     repeated in data or already in the graph, so no item
+     *                     is checked for a duplicate before it is inserted
+     * @return the number of nodes that were inserted
+     * @throws NullPointerException if any data item is null
+     */
+    public int insertNodes(List<NodeType> data, boolean assumeUnique) {
+        if (assumeUnique) {
+            List<Node> newNodes = new ArrayList<>(data.size());
+            for (NodeType item : data)
+                newNodes.add(new Node(item));
+            nodes.putAll(data, newNodes, true);
+            nodesById.ensureCapacity(nodesById.size() + newNodes.size());
+            for (Node node : newNodes)
+                assignId(node);
+            modCount++;
+            return data.size();
+        }
+        // otherwise presize the map and insert the items one at a time
+        nodes.ensureCapacity(nodes.getSize() + data.size());
+        int inserted = 0;
+        for (NodeType item : data)
+            if (insertNode(item))
+                inserted++;
+        return inserted;
+    }
+
     /**
      * Remove a node from the graph.
      * And also remove all edges adjacent to that node.
@@ -74,15 +208,25 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      */
     public boolean removeNode(NodeType data) {
         // remove this node from nodes collection
-        if (!nodes.containsKey(data))
-            return false; // throws NPE when data==null
-        Node oldNode = nodes.remove(data);
+        Node oldNode = nodes.removeIfPresent(data); // throws NPE when data==null
+        if (oldNode == null)
+            return false;
+        modCount++;
+        // keep the ids dense by moving the node with the last id into the free one
+        Node lastNode = nodesById.remove(nodesById.size() - 1);
+        if (lastNode != oldNode) {
+            lastNode.id = oldNode.id;
+            nodesById.set(oldNode.id, lastNode);
+        }
         // remove all edges entering neighboring nodes from this one
         for (Edge edge : oldNode.edgesLeaving)
             edge.successor.edgesEntering.remove(edge);
         // remove all edges leaving neighboring nodes toward this one
-        for (Edge edge : oldNode.edgesEntering)
+        for (Edge edge : oldNode.edgesEntering) {
             edge.predecessor.edgesLeaving.remove(edge);
+            if (edge.predecessor.successorIndex != null)
+                edge.predecessor.successorIndex.removeIfPresent(oldNode.data);
+        }
         return true;
     }
 
@@ -97,6 +241,31 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         return nodes.containsKey(data);
     }
 
+    /**
+     * Look up the id of a node. Ids are dense, from 0 to getNodeCount() - 1,
+     * and stay the same until a node is removed, which gives the node with
+     * the highest id the removed node's id.
+     *
+     * @param data the data item stored in the node
+     * @return the id of the node, or -1 if data is not in the graph
+     * @throws NullPointerException if data is null
+     */
+    public int getNodeId(NodeType data) {
+        Node node = nodes.getOrDefault(data, null);
+        return node == null ? -1 : node.id;
+    }
+
+    /**
+     * Look up the data stored in the node with an id.
+     *
+     * @param id the id of the node
+     * @return the data item stored in the node
+     * @throws IndexOutOfBoundsException if no node has this id
+     */
+    public NodeType getNodeData(int id) {
+        return nodesById.get(id).data;
+    }
+
     /**
      * Retrieves a list of all node data from this graph.
      *
@@ -106,6 +275,83 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
         return nodes.getKeys();
     }
 
+    /**
+     * Pass the data of every node in the graph to an action, walking the node
+     * map directly instead of building a list of nodes.
+     *
+     * @param action the action to call with each node's data
+     */
+    public void forEachNode(Consumer<NodeType> action) {
+        nodes.forEach((data, node) -> action.accept(data));
+    }
+
+    // Receives one directed edge at a time from forEachEdge
+    public interface EdgeVisitor<NodeType, EdgeType> {
+        public void visit(NodeType pred, NodeType succ, EdgeType weight);
+    }
+
+    /**
+     * Pass every edge in the graph to a visitor, walking the node map with a
+     * cursor and each node's list of leaving edges, so no node is looked up.
+     *
+     * @param visitor the visitor to call with each edge's nodes and weight
+     */
+    public void forEachEdge(EdgeVisitor<NodeType, EdgeType> visitor) {
+        MapCursor<NodeType, Node> cursor = nodes.cursor();
+        while (cursor.next())
+            for (Edge edge : cursor.value().edgesLeaving)
+                visitor.visit(edge.predecessor.data, edge.successor.data, edge.data);
+    }
+
+    /**
+     * Replace the node map with an immutable FrozenHashtableMap copy, so that
+     * a node lookup probes at most two slots, plus the frozen map's stash when
+     * many nodes share a hashCode(). Building the copy costs more than a
+     * handful of lookups save, so this pays off only for graphs that are
+     * queried many times. Edges can still be inserted and removed afterwards,
+     * but inserting or removing a node throws an
+     * UnsupportedOperationException.
+     */
+    public void freezeNodes() {
+        if (!(nodes instanceof FrozenHashtableMap))
+            nodes = new FrozenHashtableMap<>(nodes);
+    }
+
+    /**
+     * Return an immutable compressed sparse row snapshot of the graph, where
+     * nodes keep the ids they have in this graph and edge weights are stored
+     * as primitive doubles. The snapshot is built once and returned again
+     * until the graph's nodes or edges change.
+     *
+     * @return a CompactGraph with the same nodes and edges as this graph
+     */
+    public CompactGraph<NodeType> compact() {
+        if (compacted != null && compactedModCount == modCount)
+            return compacted;
+        // keep the node ids, and count the edges leaving each node
+        int n = nodesById.size();
+        List<NodeType> data = new ArrayList<>(n);
+        HashtableMap<NodeType, Integer> ids = new HashtableMap<>(Math.max(1, n * 2));
+        int[] offsets = new int[n + 1];
+        for (Node node : nodesById) {
+            ids.put(node.data, node.id);
+            offsets[node.id + 1] = offsets[node.id] + node.edgesLeaving.size();
+            data.add(node.data);
+        }
+        // then lay out each node's leaving edges next to each other
+        int[] targets = new int[offsets[n]];
+        double[] weights = new double[targets.length];
+        int position = 0;
+        for (Node node : nodesById)
+            for (Edge edge : node.edgesLeaving) {
+                targets[position] = edge.successor.id;
+                weights[position++] = edge.data.doubleValue();
+            }
+        compacted = new CompactGraph<>(data, ids.freeze(), offsets, targets, weights);
+        compactedModCount = modCount;
+        return compacted;
+    }
+
     /**
      * Return the number of nodes in the graph
      * 
@@ -128,25 +374,68 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      */
     public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
         // find nodes associated with node data, and return false when not found
-        Node predNode = nodes.get(pred);
-        Node succNode = nodes.get(succ);
+        Node predNode = nodes.getOrDefault(pred, null);
+        Node succNode = nodes.getOrDefault(succ, null);
         if (predNode == null || succNode == null)
             return false;
-        try {
+        modCount++;
+        Edge existingEdge = findEdge(predNode, succ);
+        if (existingEdge != null) {
             // when an edge alread exists within the graph, update its weight
-            Edge existingEdge = getEdgeHelper(pred, succ);
             existingEdge.data = weight;
-        } catch (NoSuchElementException e) {
+        } else {
             // otherwise create a new edges
             Edge newEdge = new Edge(weight, predNode, succNode);
             this.edgeCount++;
             // and insert it into each of its adjacent nodes' respective lists
-            predNode.edgesLeaving.add(newEdge);
-            succNode.edgesEntering.add(newEdge);
+            linkEdge(newEdge);
         }
         return true;
     }
 
+    /**
+     * Insert a batch of directed edges into the graph, where the i-th edge
+     * leads from preds.get(i) to succs.get(i) with weight weights.get(i).
+     * Like insertEdge, an edge that already exists has its weight updated.
+     *
+     * @param preds        the data items contained in the edges' predecessor nodes
+     * @param succs        the data items contained in the edges' successor nodes
+     * @param weights      the non-negative data items stored in the edges
+     * @param assumeUnique true when the caller guarantees that no edge is
+     *                     repeated in the batch or already in the graph, so
+     *                     edge lists are not searched before an edge is added
+     * @return the number of edges that were inserted or updated; edges whose
+     *         pred or succ data are not found in any graph nodes are skipped
+     * @throws IllegalArgumentException if the three lists differ in length
+     */
+    public int insertEdges(List<NodeType> preds, List<NodeType> succs, List<EdgeType> weights,
+            boolean assumeUnique) {
+        if (preds.size() != succs.size() || preds.size() != weights.size())
+            throw new IllegalArgumentException("preds, succs and weights differ in length");
+        int inserted = 0;
+        Iterator<NodeType> succIterator = succs.iterator();
+        Iterator<EdgeType> weightIterator = weights.iterator();
+        for (NodeType pred : preds) {
+            NodeType succ = succIterator.next();
+            EdgeType weight = weightIterator.next();
+            if (!assumeUnique) {
+                if (insertEdge(pred, succ, weight))
+                    inserted++;
+                continue;
+            }
+            Node predNode = nodes.getOrDefault(pred, null);
+            Node succNode = nodes.getOrDefault(succ, null);
+            if (predNode == null || succNode == null)
+                continue;
+            Edge newEdge = new Edge(weight, predNode, succNode);
+            this.edgeCount++;
+            this.modCount++;
+            linkEdge(newEdge);
+            inserted++;
+        }
+        return inserted;
+    }
+
     /**
      * Remove an edge from the graph.
      * 
@@ -156,19 +445,19 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      *         false if such an edge is not found in the graph
      */
     public boolean removeEdge(NodeType pred, NodeType succ) {
-        try {
-            // when an edge exists
-            Edge oldEdge = getEdgeHelper(pred, succ);
-            // remove it from the edge lists of each adjacent node
-            oldEdge.predecessor.edgesLeaving.remove(oldEdge);
-            oldEdge.successor.edgesEntering.remove(oldEdge);
-            // and decrement the edge count before removing
-            this.edgeCount--;
-            return true;
-        } catch (NoSuchElementException e) {
-            // when no such edge exists, return false instead
+        Edge oldEdge = findEdge(nodes.getOrDefault(pred, null), succ);
+        // when no such edge exists, return false instead
+        if (oldEdge == null)
             return false;
-        }
+        // remove it from the edge lists of each adjacent node
+        oldEdge.predecessor.edgesLeaving.remove(oldEdge);
+        oldEdge.successor.edgesEntering.remove(oldEdge);
+        if (oldEdge.predecessor.successorIndex != null)
+            oldEdge.predecessor.successorIndex.remove(oldEdge.successor.data);
+        // and decrement the edge count before removing
+        this.edgeCount--;
+        this.modCount++;
+        return true;
     }
 
     /**
@@ -179,12 +468,7 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
      * @return true if the edge is found in the graph, or false other
      */
     public boolean containsEdge(NodeType pred, NodeType succ) {
-        try {
-            getEdgeHelper(pred, succ);
-            return true;
-        } catch (NoSuchElementException e) {
-            return false;
-        }
+        return findEdge(nodes.getOrDefault(pred, null), succ) != null;
     }
 
     /**
@@ -201,15 +485,83 @@ public class BaseGraph<NodeType, EdgeType extends Number> {
     }
 
     protected Edge getEdgeHelper(NodeType pred, NodeType succ) {
-        Node predNode = nodes.get(pred);
+        Edge edge = findEdge(nodes.getOrDefault(pred, null), succ);
+        // when no such edge can be found, throw NSE
+        if (edge == null)
+            throw new NoSuchElementException("No edge from " + pred.toString() + " to " +
+                    succ.toString());
+        return edge;
+    }
+
+    /**
+     * Add a new edge to the edge lists of both of its nodes, and to the
+     * predecessor's successor index. The index is built from the whole list
+     * when the predecessor's number of leaving edges passes the threshold.
+     *
+     * @param edge the new edge, which must not already be in the graph
+     */
+    protected void linkEdge(Edge edge) {
+        Node predNode = edge.predecessor;
+        predNode.edgesLeaving.add(edge);
+        edge.successor.edgesEntering.add(edge);
+        if (predNode.successorIndex != null) {
+            predNode.successorIndex.put(edge.successor.data, edge);
+        } else if (predNode.edgesLeaving.size() > successorIndexThreshold) {
+            predNode.successorIndex = new HashtableMap<>(predNode.edgesLeaving.size() * 2);
+            for (Edge leaving : predNode.edgesLeaving)
+                predNode.successorIndex.put(leaving.successor.data, leaving);
+        }
+    }
+
+    /**
+     * Set the number of leaving edges above which a node indexes its edges by
+     * successor data, making insertEdge, removeEdge, containsEdge and getEdge
+     * take constant time on that node instead of time linear in its degree.
+     * The new threshold applies to nodes as they gain edges; nodes that
+     * already have an index keep it.
+     *
+     * @param threshold the largest number of leaving edges that a node
+     *                  searches without an index
+     * @throws IllegalArgumentException if threshold is negative
+     */
+    public void setSuccessorIndexThreshold(int threshold) {
+        if (threshold < 0)
+            throw new IllegalArgumentException("threshold must not be negative");
+        this.successorIndexThreshold = threshold;
+    }
+
+    /**
+     * Return the number of leaving edges above which a node indexes its edges
+     * by successor data.
+     *
+     * @return the successor index threshold
+     */
+    public int getSuccessorIndexThreshold() {
+        return successorIndexThreshold;
+    }
+
+    /**
+     * Search for an edge without throwing, so that callers which only need to
+     * know whether the edge exists never pay for building an exception.
+     *
+     * @param predNode the source node for the edge, or null when it is not in
+     *                 the graph
+     * @param succ     the data item contained in the target node for the edge
+     * @return the edge from predNode to the node containing succ, or null if
+     *         there is no such edge
+     */
+    protected Edge findEdge(Node predNode, NodeType succ) {
+        if (predNode == null || succ == null)
+            return null;
+        // high degree nodes look the edge up in their successor index
+        if (predNode.successorIndex != null)
+            return predNode.successorIndex.getOrDefault(succ, null);
         // search for edge through the predecessor's list of leaving edges
         for (Edge edge : predNode.edgesLeaving)
             // compare succ to the data in each leaving edge's successor
             if (edge.successor.data.equals(succ))
                 return edge;
-        // when no such edge can be found, throw NSE
-        throw new NoSuchElementException("No edge from " + pred.toString() + " to " +
-                succ.toString());
+        return null;
     }
 
     /**
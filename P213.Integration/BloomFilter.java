@@ -0,0 +1,101 @@
+/**
+ * A blocked Bloom filter over int hashes: it can tell for sure that a hash was
+ * never added, and says "maybe" for hashes that were added and for a small,
+ * configurable share of others. Each hash sets all of its bits inside one
+ * 512-bit block (a typical cache line), so a query reads a single block
+ * instead of touching one random word per bit. Keeping the bits of a hash
+ * together raises the false positive rate slightly above that of a classic
+ * Bloom filter with the same number of bits, so the filter is sized with one
+ * extra bit per expected hash. Bits are never cleared; the owner of the filter
+ * builds a new one when too many of its hashes are stale.
+ */
+public class BloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / 64;
+    private static final int MAX_HASHES = 16;
+
+    private final long[] words;
+    private final int blockMask; // number of blocks - 1, a power of two - 1
+    private final int hashCount; // bits set per hash
+
+    // two argument constructor that sizes a filter for the given number of hashes and false positive rate
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if(!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+        }
+        double bitsPerHash = -Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) + 1; // one extra bit for blocking
+        this.hashCount = (int) Math.max(1, Math.min(MAX_HASHES, Math.round((bitsPerHash - 1) * Math.log(2))));
+        long blocks = (long) Math.ceil(Math.max(1, expectedInsertions) * bitsPerHash / BLOCK_BITS);
+        int roundedBlocks = blocks <= 1 ? 1 : Integer.highestOneBit((int) Math.min(blocks - 1, 1 << 26)) << 1;
+        this.words = new long[roundedBlocks * BLOCK_WORDS];
+        this.blockMask = roundedBlocks - 1;
+    }
+
+  /**
+   * Private helper method that mixes a hash with the MurmurHash3 finalizer
+   * @param h an int
+   * @return the mixed int
+   */
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+  /**
+   * Records a hash in the filter
+   * @param hash an int, such as a key's hash
+   * @return None
+   */
+    public void add(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1; // odd, so the bits of one hash stay distinct within the block
+        int base = (h1 & blockMask) * BLOCK_WORDS;
+        int bit = h1 >>> 16;
+        for(int i = 0; i < hashCount; i++) {
+            bit += h2;
+            words[base + ((bit >>> 6) & (BLOCK_WORDS - 1))] |= 1L << bit; // shifts only use the low 6 bits
+        }
+    }
+
+  /**
+   * Checks whether a hash may have been recorded in the filter
+   * @param hash an int, such as a key's hash
+   * @return false if the hash was certainly never added, true if it may have been
+   */
+    public boolean mightContain(int hash) {
+        int h1 = mix(hash);
+        int h2 = mix(h1 ^ 0x9E3779B9) | 1;
+        int base = (h1 & blockMask) * BLOCK_WORDS;
+        int bit = h1 >>> 16;
+        for(int i = 0; i < hashCount; i++) {
+            bit += h2;
+            if((words[base + ((bit >>> 6) & (BLOCK_WORDS - 1))] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+  /**
+   * Returns the number of bits of the filter
+   * @param None
+   * @return number of bits, a long
+   */
+    public long getBitCount() {
+        return (long) words.length * 64;
+    }
+
+  /**
+   * Returns the number of bits set for each hash
+   * @param None
+   * @return number of bits per hash, an int
+   */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+}
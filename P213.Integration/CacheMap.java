@@ -0,0 +1,679 @@
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+import java.util.function.LongSupplier;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * This class implements MapADT as a bounded cache: every entry has a weight
+ * (1 unless a weigher is given), and once the entries weigh more than the
+ * maximum weight, entries are evicted until they fit again. Keys are indexed
+ * by a HashtableMap, and the entries are kept in doubly linked recency queues
+ * so that every operation takes constant time. Two policies are available:
+ *
+ * LRU evicts the least recently used entry.
+ *
+ * W_TINY_LFU sends new entries through a small LRU window (1% of the weight)
+ * into a main space split into a probation and a protected (80%) segment. An
+ * entry used again while on probation is promoted to the protected segment.
+ * When the cache is full, the entry that just left the window competes with
+ * the least recently used entry on probation, and the one used less often
+ * according to a count-min sketch of recent accesses is evicted. This keeps
+ * a burst of one-off keys from flushing entries that are used repeatedly.
+ *
+ * An entry can expire a fixed time after it was added (a default for the
+ * cache, or per entry); expired entries are dropped when they are next
+ * looked up, or all at once by cleanUp(). Hits, misses, evictions and
+ * expirations are counted. All methods are synchronized, so a cache can be
+ * shared by several threads.
+ */
+public class CacheMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    // eviction policies of a CacheMap
+    public enum Policy { LRU, W_TINY_LFU }
+
+    // the queues an entry can be in; with LRU every entry is in the window
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private class Entry {
+        public KeyType key;
+        public ValueType value;
+        public int weight;
+        public long expiresAt; // ticker time after which the entry is expired, Long.MAX_VALUE for never
+        public int queue;
+        public Entry prev;
+        public Entry next;
+    }
+
+    // circular doubly linked list of entries from least to most recently used, with a sentinel
+    private class RecencyQueue {
+        public final Entry sentinel = new Entry();
+        public long weight = 0;
+
+        public RecencyQueue() {
+            reset();
+        }
+
+        public void reset() {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            weight = 0;
+        }
+
+        public void addLast(Entry entry, int queue) {
+            entry.queue = queue;
+            entry.prev = sentinel.prev;
+            entry.next = sentinel;
+            sentinel.prev.next = entry;
+            sentinel.prev = entry;
+            weight += entry.weight;
+        }
+
+        public void remove(Entry entry) {
+            entry.prev.next = entry.next;
+            entry.next.prev = entry.prev;
+            entry.prev = null;
+            entry.next = null;
+            weight -= entry.weight;
+        }
+
+        public Entry first() {
+            return sentinel.next == sentinel ? null : sentinel.next;
+        }
+
+        public Entry last() {
+            return sentinel.prev == sentinel ? null : sentinel.prev;
+        }
+    }
+
+    // count-min sketch of 4-bit counters, 16 to a word, that is halved periodically so that old accesses fade
+    private static class FrequencySketch {
+        private static final int[] SEEDS = {0x97cb3127, 0x5bd1e995, 0xc2b2ae35, 0x85ebca6b};
+        private final long[] table;
+        private final int sampleSize; // number of increments after which every counter is halved
+        private int additions = 0;
+
+        public FrequencySketch(long maximumSize) {
+            int size = (int) Math.min(Math.max(maximumSize, 16), 1 << 16); // at most 512 KB, even for heavy weights
+            this.table = new long[Integer.highestOneBit(size - 1) << 1];
+            this.sampleSize = 10 * table.length;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        public int frequency(int hash) {
+            int frequency = 15;
+            for(int row = 0; row < SEEDS.length; row++) {
+                int h = index(hash, row);
+                int shift = (h & 15) << 2;
+                frequency = Math.min(frequency, (int) (table[(h >>> 4) & (table.length - 1)] >>> shift) & 15);
+            }
+            return frequency;
+        }
+
+        public void increment(int hash) {
+            for(int row = 0; row < SEEDS.length; row++) {
+                int h = index(hash, row);
+                int shift = (h & 15) << 2;
+                int word = (h >>> 4) & (table.length - 1);
+                if(((table[word] >>> shift) & 15) < 15) {
+                    table[word] += 1L << shift;
+                }
+            }
+            if(++additions == sampleSize) {
+                for(int i = 0; i < table.length; i++) {
+                    table[i] = (table[i] >>> 1) & 0x7777777777777777L; // halve every counter
+                }
+                additions /= 2;
+            }
+        }
+    }
+
+    private final HashtableMap<KeyType, Entry> index = new HashtableMap<>();
+    private final Policy policy;
+    private final long maximumWeight;
+    private final ToIntBiFunction<? super KeyType, ? super ValueType> weigher;
+    private final Duration defaultTtl; // null when entries never expire by default
+    private final LongSupplier ticker; // current time in nanoseconds
+    private final RecencyQueue window = new RecencyQueue();
+    private final RecencyQueue probation = new RecencyQueue();
+    private final RecencyQueue protectedQueue = new RecencyQueue();
+    private final long windowWeight; // maximum weight of the window
+    private final long protectedWeight; // maximum weight of the protected segment
+    private final FrequencySketch sketch; // null with LRU
+    private long weightedSize = 0;
+    private long hits = 0;
+    private long misses = 0;
+    private long evictions = 0;
+    private long expirations = 0;
+
+    // five argument constructor that initializes a cache with the given maximum weight and policy, weighing each
+    // entry with weigher, expiring entries defaultTtl after they are added (never when null), and reading the time
+    // in nanoseconds from ticker
+    public CacheMap(long maximumWeight, Policy policy, ToIntBiFunction<? super KeyType, ? super ValueType> weigher,
+                    Duration defaultTtl, LongSupplier ticker) {
+        if(maximumWeight < 1) {
+            throw new IllegalArgumentException("maximum weight must be positive");
+        }
+        if(policy == null || weigher == null || ticker == null) {
+            throw new NullPointerException("policy, weigher and ticker must not be null");
+        }
+        this.maximumWeight = maximumWeight;
+        this.policy = policy;
+        this.weigher = weigher;
+        this.defaultTtl = defaultTtl;
+        this.ticker = ticker;
+        if(policy == Policy.LRU) {
+            this.windowWeight = maximumWeight;
+            this.protectedWeight = 0;
+            this.sketch = null;
+        } else {
+            this.windowWeight = Math.max(1, maximumWeight / 100);
+            this.protectedWeight = (maximumWeight - windowWeight) * 8 / 10;
+            this.sketch = new FrequencySketch(maximumWeight);
+        }
+    }
+
+    // four argument constructor that initializes a cache with the given maximum weight and policy, weighing each
+    // entry with weigher and expiring entries defaultTtl after they are added (never when null)
+    public CacheMap(long maximumWeight, Policy policy, ToIntBiFunction<? super KeyType, ? super ValueType> weigher,
+                    Duration defaultTtl) {
+        this(maximumWeight, policy, weigher, defaultTtl, System::nanoTime);
+    }
+
+    // two argument constructor that initializes a cache holding up to maximumSize entries with the given policy
+    public CacheMap(long maximumSize, Policy policy) {
+        this(maximumSize, policy, (key, value) -> 1, null);
+    }
+
+  /**
+   * Private helper method that spreads a key's hashCode() for the frequency sketch
+   * @param key a key
+   * @return the hash of the key, an int
+   */
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+  /**
+   * Private helper method that returns the recency queue an entry is in
+   * @param entry an Entry
+   * @return the entry's queue
+   */
+    private RecencyQueue queueOf(Entry entry) {
+        return entry.queue == WINDOW ? window : entry.queue == PROBATION ? probation : protectedQueue;
+    }
+
+  /**
+   * Private helper method that looks up the entry of a key, dropping it when it has expired
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the live entry of the key, or null
+   */
+    private Entry findLive(KeyType key) {
+        if(key == null) {
+            throw new NullPointerException("key is null"); // check if key is null
+        }
+        Entry entry = index.getOrDefault(key, null);
+        if(entry != null && entry.expiresAt != Long.MAX_VALUE && ticker.getAsLong() - entry.expiresAt >= 0) {
+            removeEntry(entry);
+            expirations++;
+            return null;
+        }
+        return entry;
+    }
+
+  /**
+   * Private helper method that records a use of an entry: it moves to the most recently used end of its
+   * queue, or from probation to the protected segment, which may push protected entries back to probation
+   * @param entry an Entry
+   * @return None
+   */
+    private void recordAccess(Entry entry) {
+        if(sketch != null) {
+            sketch.increment(hash(entry.key));
+        }
+        RecencyQueue queue = queueOf(entry);
+        queue.remove(entry);
+        if(entry.queue != PROBATION) {
+            queue.addLast(entry, entry.queue);
+            return;
+        }
+        protectedQueue.addLast(entry, PROTECTED);
+        while(protectedQueue.weight > protectedWeight && protectedQueue.first() != entry) {
+            Entry demoted = protectedQueue.first();
+            protectedQueue.remove(demoted);
+            probation.addLast(demoted, PROBATION);
+        }
+    }
+
+  /**
+   * Private helper method that unlinks an entry from its queue and from the index
+   * @param entry an Entry
+   * @return None
+   */
+    private void removeEntry(Entry entry) {
+        queueOf(entry).remove(entry);
+        weightedSize -= entry.weight;
+        index.remove(entry.key);
+    }
+
+  /**
+   * Private helper method that evicts entries until the cache weighs no more than its maximum weight
+   * @param None
+   * @return None
+   */
+    private void evictHelper() {
+        if(policy == Policy.LRU) {
+            while(weightedSize > maximumWeight) {
+                removeEntry(window.first()); // least recently used entry
+                evictions++;
+            }
+            return;
+        }
+        while(window.weight > windowWeight && window.first() != null) {
+            Entry candidate = window.first();
+            window.remove(candidate);
+            probation.addLast(candidate, PROBATION); // leaves the window to compete for the main space
+        }
+        while(weightedSize > maximumWeight) {
+            Entry victim = probation.first();
+            Entry candidate = probation.last();
+            Entry evicted;
+            if(victim == null) {
+                evicted = protectedQueue.first() != null ? protectedQueue.first() : window.first();
+            } else if(victim == candidate) {
+                evicted = victim;
+            } else {
+                // admit the candidate only if it has been used more often than the entry it would replace
+                boolean admit = sketch.frequency(hash(candidate.key)) > sketch.frequency(hash(victim.key));
+                evicted = admit ? victim : candidate;
+            }
+            removeEntry(evicted);
+            evictions++;
+        }
+    }
+
+  /**
+   * Private helper method that adds a new entry for a key that has no live entry, then evicts as needed
+   * @param key a KeyType, value a ValueType, ttl the time the entry stays live (never expires when null)
+   * @throws IllegalArgumentException if the weigher returns a negative weight
+   * @return None
+   */
+    private void insert(KeyType key, ValueType value, Duration ttl) {
+        Entry entry = new Entry();
+        entry.key = key;
+        entry.value = value;
+        entry.weight = weigher.applyAsInt(key, value);
+        if(entry.weight < 0) {
+            throw new IllegalArgumentException("weight must not be negative");
+        }
+        entry.expiresAt = ttl == null ? Long.MAX_VALUE : ticker.getAsLong() + ttl.toNanos();
+        index.put(key, entry);
+        if(sketch != null) {
+            sketch.increment(hash(key));
+        }
+        window.addLast(entry, WINDOW);
+        weightedSize += entry.weight;
+        evictHelper();
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects, which expires after the cache's default TTL.
+   * The new pair, or older ones, may be evicted right away to keep the cache within its maximum weight
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the cache already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public synchronized void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        put(key, value, defaultTtl);
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects, which expires after the given time
+   * @param key a KeyType, value a ValueType, ttl the time the pair stays live (never expires when null)
+   * @throws IllegalArgumentException if the cache already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    public synchronized void put(KeyType key, ValueType value, Duration ttl) throws IllegalArgumentException {
+        if(!putIfAbsent(key, value, ttl)) {
+            throw new IllegalArgumentException("key already exists in cache"); // check if key already exists
+        }
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects unless the key has a live pair, which
+   * expires after the cache's default TTL
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the pair was inserted, false if the cache already contains this key
+   */
+    @Override
+    public synchronized boolean putIfAbsent(KeyType key, ValueType value) {
+        return putIfAbsent(key, value, defaultTtl);
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects unless the key has a live pair, which
+   * expires after the given time
+   * @param key a KeyType, value a ValueType, ttl the time the pair stays live (never expires when null)
+   * @throws NullPointerException if the passed key is null
+   * @return true if the pair was inserted, false if the cache already contains this key
+   */
+    public synchronized boolean putIfAbsent(KeyType key, ValueType value, Duration ttl) {
+        if(findLive(key) != null) {
+            return false; // key already exists, leave its pair unchanged
+        }
+        insert(key, value, ttl);
+        return true;
+    }
+
+  /**
+   * Checks whether the given key has a live pair, without counting a hit or miss or marking it as used
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the cache contains the key, false otherwise
+   */
+    @Override
+    public synchronized boolean containsKey(KeyType key) {
+        return findLive(key) != null;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, counting a hit or a miss
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key has no live pair
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    public synchronized ValueType get(KeyType key) throws NoSuchElementException {
+        Entry entry = lookup(key);
+        if(entry == null) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return entry.value;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given default when
+   * the key has no live pair, counting a hit or a miss
+   * @param key a KeyType, defaultValue a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    public synchronized ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        Entry entry = lookup(key);
+        return entry == null ? defaultValue : entry.value;
+    }
+
+  /**
+   * Private helper method that looks up a key for a read, counting a hit or a miss and recording the use
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the live entry of the key, or null
+   */
+    private Entry lookup(KeyType key) {
+        Entry entry = findLive(key);
+        if(entry == null) {
+            misses++;
+            if(sketch != null) {
+                sketch.increment(hash(key)); // a key that keeps missing earns its way in when it is added
+            }
+            return null;
+        }
+        hits++;
+        recordAccess(entry);
+        return entry;
+    }
+
+  /**
+   * Removes the pair stored at the given key
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key has no live pair
+   * @throws NullPointerException if the passed key is null
+   * @return the value of the removed pair, a ValueType object
+   */
+    @Override
+    public synchronized ValueType remove(KeyType key) throws NoSuchElementException {
+        Entry entry = findLive(key);
+        if(entry == null) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        removeEntry(entry);
+        return entry.value;
+    }
+
+  /**
+   * Removes the pair stored at the given key if it has a live one, without throwing
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the value of the removed pair, or null if the key has no live pair
+   */
+    @Override
+    public synchronized ValueType removeIfPresent(KeyType key) {
+        Entry entry = findLive(key);
+        if(entry == null) {
+            return null;
+        }
+        removeEntry(entry);
+        return entry.value;
+    }
+
+  /**
+   * Sizes the key index for the given number of entries
+   * @param expectedSize the number of entries the cache will hold
+   * @return None
+   */
+    @Override
+    public synchronized void ensureCapacity(int expectedSize) {
+        index.ensureCapacity(expectedSize);
+    }
+
+  /**
+   * Inserts a batch of pairs, each with the cache's default TTL. Pairs may be evicted as later ones arrive
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique true if no
+   *        key is repeated or already stored (a repeated key is then skipped)
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is false and
+   *         the cache already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public synchronized void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        Iterator<ValueType> valueIterator = values.iterator();
+        for(KeyType key : keys) {
+            if(assumeUnique) {
+                putIfAbsent(key, valueIterator.next());
+            } else {
+                put(key, valueIterator.next());
+            }
+        }
+    }
+
+  /**
+   * Removes every pair; the hit, miss, eviction and expiration counts are kept
+   * @param None
+   * @return None
+   */
+    @Override
+    public synchronized void clear() {
+        index.clear();
+        window.reset();
+        probation.reset();
+        protectedQueue.reset();
+        weightedSize = 0;
+    }
+
+  /**
+   * Removes every expired pair at once
+   * @param None
+   * @return None
+   */
+    public synchronized void cleanUp() {
+        for(KeyType key : new ArrayList<>(index.getKeys())) {
+            findLive(key); // drops the pair when it has expired
+        }
+    }
+
+  /**
+   * Returns the number of pairs in the cache, including expired pairs that have not been dropped yet
+   * @param None
+   * @return cache's size, an int
+   */
+    @Override
+    public synchronized int getSize() {
+        return index.getSize();
+    }
+
+  /**
+   * Returns the capacity of the hashtable indexing the keys
+   * @param None
+   * @return number of buckets of the index, an int
+   */
+    @Override
+    public synchronized int getCapacity() {
+        return index.getCapacity();
+    }
+
+  /**
+   * Returns the weight the pairs of the cache may add up to
+   * @param None
+   * @return maximum weight, a long
+   */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+  /**
+   * Returns the total weight of the pairs in the cache
+   * @param None
+   * @return weighted size, a long
+   */
+    public synchronized long getWeightedSize() {
+        return weightedSize;
+    }
+
+  /**
+   * Returns the number of get and getOrDefault calls that found a live pair
+   * @param None
+   * @return hit count, a long
+   */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+  /**
+   * Returns the number of get and getOrDefault calls that found no live pair
+   * @param None
+   * @return miss count, a long
+   */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+  /**
+   * Returns the share of get and getOrDefault calls that found a live pair
+   * @param None
+   * @return hit rate between 0 and 1, or 0 before the first lookup
+   */
+    public synchronized double getHitRate() {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+  /**
+   * Returns the number of pairs evicted to keep the cache within its maximum weight
+   * @param None
+   * @return eviction count, a long
+   */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+  /**
+   * Returns the number of pairs dropped because they expired
+   * @param None
+   * @return expiration count, a long
+   */
+    public synchronized long getExpirationCount() {
+        return expirations;
+    }
+
+  /**
+   * Returns a new list with the key of every live pair
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    public synchronized List<KeyType> getKeys() {
+        List<KeyType> keys = new ArrayList<>(index.getSize());
+        forEach((key, value) -> keys.add(key));
+        return keys;
+    }
+
+  /**
+   * Passes every live pair to the given action, without marking any of them as used
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    public synchronized void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        long now = ticker.getAsLong();
+        index.forEach((key, entry) -> {
+            if(entry.expiresAt == Long.MAX_VALUE || now - entry.expiresAt < 0) {
+                action.accept(key, entry.value);
+            }
+        });
+    }
+
+  /**
+   * Returns a cursor over every live pair, without marking any of them as used. The cache must not be
+   * used by other threads while the cursor walks it
+   * @param None
+   * @return a new cursor positioned before the first pair, a MapCursor
+   */
+    @Override
+    public synchronized MapCursor<KeyType, ValueType> cursor() {
+        MapCursor<KeyType, Entry> entries = index.cursor();
+        long now = ticker.getAsLong();
+        return new MapCursor<KeyType, ValueType>() {
+            @Override
+            public boolean next() {
+                while(entries.next()) {
+                    Entry entry = entries.value();
+                    if(entry.expiresAt == Long.MAX_VALUE || now - entry.expiresAt < 0) {
+                        return true; // skip expired pairs
+                    }
+                }
+                return false;
+            }
+
+            @Override
+            public KeyType key() {
+                return entries.key();
+            }
+
+            @Override
+            public ValueType value() {
+                return entries.value().value;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.time.Duration;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class CacheMapTests {
+
+    /**
+     * Tests that an LRU cache evicts the least recently used entry, and counts hits, misses and evictions
+     */
+    @Test
+    public void testLruEviction() {
+        CacheMap<String, Integer> cache = new CacheMap<>(3, CacheMap.Policy.LRU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        Assertions.assertEquals(1, cache.get("a"), "Expected value is 1 for key 'a'.");
+        cache.put("d", 4); // "b" is now the least recently used entry
+        Assertions.assertEquals(false, cache.containsKey("b"), "The least recently used entry should be evicted.");
+        Assertions.assertEquals(true, cache.containsKey("a"), "A recently used entry should stay.");
+        Assertions.assertEquals(3, cache.getSize(), "Cache should stay at its maximum size.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> cache.get("b"), "get should throw for evicted keys.");
+        Assertions.assertEquals(1, cache.getHitCount(), "Expected one hit.");
+        Assertions.assertEquals(1, cache.getMissCount(), "Expected one miss.");
+        Assertions.assertEquals(1, cache.getEvictionCount(), "Expected one eviction.");
+        Assertions.assertEquals(0.5, cache.getHitRate(), "Expected a hit rate of 0.5.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> cache.put("a", 5), "put should reject stored keys.");
+        Assertions.assertThrows(NullPointerException.class, () -> cache.get(null), "Null keys should throw.");
+    }
+
+    /**
+     * Tests that W-TinyLFU keeps frequently used entries while a scan of one-off keys passes through, where LRU loses them
+     */
+    @Test
+    public void testFrequencyAdmission() {
+        CacheMap<Integer, Integer> tinyLfu = new CacheMap<>(100, CacheMap.Policy.W_TINY_LFU);
+        CacheMap<Integer, Integer> lru = new CacheMap<>(100, CacheMap.Policy.LRU);
+        for(CacheMap<Integer, Integer> cache : List.of(tinyLfu, lru)) {
+            for(int round = 0; round < 5; round++) {
+                for(int key = 0; key < 50; key++) {
+                    if(cache.getOrDefault(key, null) == null) {
+                        cache.put(key, key); // a hot set of 50 keys, used repeatedly
+                    }
+                }
+            }
+            for(int key = 1000; key < 3000; key++) {
+                cache.putIfAbsent(key, key); // a scan of keys that are used once
+            }
+        }
+        int tinyLfuKept = 0;
+        int lruKept = 0;
+        for(int key = 0; key < 50; key++) {
+            tinyLfuKept += tinyLfu.containsKey(key) ? 1 : 0;
+            lruKept += lru.containsKey(key) ? 1 : 0;
+        }
+        Assertions.assertEquals(true, tinyLfuKept >= 45, "W-TinyLFU should keep the hot keys through a scan, kept " + tinyLfuKept + ".");
+        Assertions.assertEquals(0, lruKept, "LRU should lose the hot keys to a scan.");
+        Assertions.assertEquals(100, tinyLfu.getSize(), "Cache should stay at its maximum size.");
+    }
+
+    /**
+     * Tests that entries expire after the default or their own TTL, and that weights bound the cache
+     */
+    @Test
+    public void testExpirationAndWeights() {
+        long[] now = {0};
+        CacheMap<String, String> cache = new CacheMap<>(10, CacheMap.Policy.W_TINY_LFU, (key, value) -> value.length(),
+                                                        Duration.ofSeconds(10), () -> now[0]);
+        cache.put("a", "xxx");
+        cache.put("b", "yyy", Duration.ofSeconds(60));
+        cache.put("c", "zz", null);
+        Assertions.assertEquals(8, cache.getWeightedSize(), "Weights should add up.");
+        now[0] = Duration.ofSeconds(30).toNanos();
+        Assertions.assertEquals(false, cache.containsKey("a"), "Entries should expire after the default TTL.");
+        Assertions.assertEquals("yyy", cache.get("b"), "Entries should live for their own TTL.");
+        Assertions.assertEquals(1, cache.getExpirationCount(), "Expected one expiration.");
+        now[0] = Duration.ofSeconds(90).toNanos();
+        cache.cleanUp();
+        Assertions.assertEquals(1, cache.getSize(), "cleanUp should drop every expired entry.");
+        Assertions.assertEquals("zz", cache.get("c"), "Entries without a TTL should never expire.");
+        cache.put("d", "wwwwwwww");
+        Assertions.assertEquals(true, cache.getWeightedSize() <= 10, "Cache should stay within its maximum weight.");
+        cache.put("e", "vvvvvvvvvvvv"); // heavier than the whole cache
+        Assertions.assertEquals(false, cache.containsKey("e"), "An entry heavier than the cache should be evicted.");
+        cache.clear();
+        Assertions.assertEquals(0, cache.getWeightedSize(), "Cache should weigh nothing after clearing.");
+    }
+
+}
@@ -0,0 +1,227 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * An immutable snapshot of a graph in compressed sparse row (CSR) form. Every
+ * node has a dense int id from 0 to getNodeCount() - 1, and the edges leaving
+ * node i are stored at positions offsets[i] to offsets[i + 1] - 1 of two
+ * parallel arrays: targets (the successor ids) and weights (as primitive
+ * doubles). A second, reverse CSR lists the edges entering each node. Walking
+ * a node's edges therefore reads two contiguous array ranges instead of
+ * following the links of a LinkedList of Edge objects with boxed weights, and
+ * shortest path searches keep their distances and predecessors in arrays
+ * indexed by node id. BaseGraph.compact() builds these snapshots.
+ */
+public class CompactGraph<NodeType> {
+
+    // receives the neighbor id and weight of one edge at a time
+    public interface ArcVisitor {
+        public void visit(int neighbor, double weight);
+    }
+
+    private final Object[] data; // node data by id
+    private final MapADT<NodeType, Integer> ids; // node data to id
+    private final int[] offsets; // edges leaving node i are at offsets[i]..offsets[i+1]-1
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] reverseOffsets; // edges entering node i are at reverseOffsets[i]..reverseOffsets[i+1]-1
+    private final int[] sources;
+    private final double[] reverseWeights;
+
+    /**
+     * Creates a CSR graph from arrays that are taken over, not copied.
+     *
+     * @param data      the node data by id
+     * @param ids       maps each node's data to its id
+     * @param offsets   n + 1 start positions of each node's leaving edges
+     * @param targets   the successor id of every edge, grouped by predecessor
+     * @param weights   the weight of every edge, in the same order as targets
+     */
+    public CompactGraph(List<NodeType> data, MapADT<NodeType, Integer> ids, int[] offsets, int[] targets,
+            double[] weights) {
+        int n = data.size();
+        if (offsets.length != n + 1 || targets.length != weights.length || offsets[n] != targets.length)
+            throw new IllegalArgumentException("offsets, targets and weights do not describe " + n + " nodes");
+        this.data = data.toArray();
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        // build the reverse CSR with a counting sort of the edges by target
+        this.reverseOffsets = new int[n + 1];
+        for (int target : targets)
+            reverseOffsets[target + 1]++;
+        for (int i = 0; i < n; i++)
+            reverseOffsets[i + 1] += reverseOffsets[i];
+        this.sources = new int[targets.length];
+        this.reverseWeights = new double[targets.length];
+        int[] next = Arrays.copyOf(reverseOffsets, n);
+        for (int pred = 0; pred < n; pred++)
+            for (int e = offsets[pred]; e < offsets[pred + 1]; e++) {
+                int slot = next[targets[e]]++;
+                sources[slot] = pred;
+                reverseWeights[slot] = weights[e];
+            }
+    }
+
+    /**
+     * Return the number of nodes in the graph.
+     *
+     * @return the number of nodes, which are numbered from 0
+     */
+    public int getNodeCount() {
+        return data.length;
+    }
+
+    /**
+     * Return the number of edges in the graph.
+     *
+     * @return the number of edges
+     */
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    /**
+     * Look up the id of a node.
+     *
+     * @param node the data item stored in the node
+     * @return the id of the node, or -1 if the graph has no such node
+     * @throws NullPointerException if node is null
+     */
+    public int idOf(NodeType node) {
+        Integer id = ids.getOrDefault(node, null);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Look up the data stored in a node.
+     *
+     * @param id the id of the node
+     * @return the data item stored in the node
+     * @throws IndexOutOfBoundsException if there is no node with this id
+     */
+    @SuppressWarnings("unchecked")
+    public NodeType dataOf(int id) {
+        return (NodeType) data[id];
+    }
+
+    /**
+     * Return the number of edges leaving a node.
+     *
+     * @param id the id of the node
+     * @return the number of successors of the node
+     */
+    public int getOutDegree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * Return the number of edges entering a node.
+     *
+     * @param id the id of the node
+     * @return the number of predecessors of the node
+     */
+    public int getInDegree(int id) {
+        return reverseOffsets[id + 1] - reverseOffsets[id];
+    }
+
+    /**
+     * Pass every edge leaving a node to a visitor, as successor id and weight.
+     *
+     * @param id      the id of the node
+     * @param visitor the visitor to call with each edge
+     */
+    public void forEachSuccessor(int id, ArcVisitor visitor) {
+        for (int e = offsets[id]; e < offsets[id + 1]; e++)
+            visitor.visit(targets[e], weights[e]);
+    }
+
+    /**
+     * Pass every edge entering a node to a visitor, as predecessor id and weight.
+     *
+     * @param id      the id of the node
+     * @param visitor the visitor to call with each edge
+     */
+    public void forEachPredecessor(int id, ArcVisitor visitor) {
+        for (int e = reverseOffsets[id]; e < reverseOffsets[id + 1]; e++)
+            visitor.visit(sources[e], reverseWeights[e]);
+    }
+
+    /**
+     * Find the ids of the nodes along the shortest path from start to end
+     * with Dijkstra's algorithm.
+     *
+     * @param start the id of the starting node
+     * @param end   the id of the destination node
+     * @return the ids along the path, starting with start and ending with end
+     * @throws NoSuchElementException when no path from start to end is found
+     */
+    public int[] shortestPath(int start, int end) {
+        int[] predecessors = new int[data.length];
+        search(start, end, predecessors);
+        int length = 1;
+        for (int id = end; id != start; id = predecessors[id])
+            length++;
+        int[] path = new int[length];
+        for (int id = end, i = length - 1; i >= 0; id = predecessors[id], i--)
+            path[i] = id;
+        return path;
+    }
+
+    /**
+     * Find the cost of the shortest path from start to end with Dijkstra's
+     * algorithm.
+     *
+     * @param start the id of the starting node
+     * @param end   the id of the destination node
+     * @return the sum of the edge weights along the shortest path
+     * @throws NoSuchElementException when no path from start to end is found
+     */
+    public double shortestPathCost(int start, int end) {
+        return search(start, end, new int[data.length])[end];
+    }
+
+    /**
+     * Run Dijkstra's algorithm from start until end is settled, keeping the
+     * cost and predecessor of every reached node in arrays indexed by id, and
+     * the frontier in an IntDoubleHeap. A node can be in the heap more than
+     * once; entries whose cost is higher than the node's best known cost are
+     * skipped.
+     *
+     * @param start        the id of the starting node
+     * @param end          the id of the destination node
+     * @param predecessors receives the predecessor id of every reached node
+     * @return the lowest known cost of every node, which is final for end
+     * @throws NoSuchElementException when no path from start to end is found
+     */
+    private double[] search(int start, int end, int[] predecessors) {
+        double[] costs = new double[data.length];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        costs[start] = 0.0;
+        predecessors[start] = start;
+        IntDoubleHeap queue = new IntDoubleHeap();
+        queue.add(start, 0.0);
+        while (!queue.isEmpty()) {
+            int id = queue.peekId();
+            double cost = queue.peekPriority();
+            queue.removeMin();
+            if (cost > costs[id])
+                continue; // a cheaper path to this node was already expanded
+            if (id == end)
+                return costs;
+            for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+                int succ = targets[e];
+                double succCost = cost + weights[e];
+                if (succCost < costs[succ]) {
+                    costs[succ] = succCost;
+                    predecessors[succ] = id;
+                    queue.add(succ, succCost);
+                }
+            }
+        }
+        throw new NoSuchElementException("no nodes found between start and end");
+    }
+
+}
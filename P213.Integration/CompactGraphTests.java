@@ -0,0 +1,76 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class CompactGraphTests {
+
+    /**
+     * Tests that a compact snapshot numbers the nodes and lists each node's leaving and entering edges
+     */
+    @Test
+    public void testSnapshotLayout() {
+        DijkstraGraph<String, Double> graph = new DijkstraGraph<>();
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertEdge("A", "B", 1.0);
+        graph.insertEdge("A", "C", 4.0);
+        graph.insertEdge("B", "C", 2.0);
+        CompactGraph<String> compact = graph.compact();
+        Assertions.assertEquals(3, compact.getNodeCount(), "Expected 3 nodes.");
+        Assertions.assertEquals(3, compact.getEdgeCount(), "Expected 3 edges.");
+        Assertions.assertEquals(-1, compact.idOf("D"), "Missing nodes should have no id.");
+        int a = compact.idOf("A");
+        int c = compact.idOf("C");
+        Assertions.assertEquals("A", compact.dataOf(a), "Ids should map back to their data.");
+        Assertions.assertEquals(2, compact.getOutDegree(a), "A should have 2 leaving edges.");
+        Assertions.assertEquals(2, compact.getInDegree(c), "C should have 2 entering edges.");
+        List<String> predecessors = new ArrayList<>();
+        double[] weight = {0};
+        compact.forEachPredecessor(c, (pred, w) -> {
+            predecessors.add(compact.dataOf(pred));
+            weight[0] += w;
+        });
+        Assertions.assertEquals(true, predecessors.containsAll(List.of("A", "B")), "C should be entered from A and B.");
+        Assertions.assertEquals(6.0, weight[0], "Entering edge weights should add up to 6.");
+        Assertions.assertSame(compact, graph.compact(), "An unchanged graph should reuse its snapshot.");
+        graph.insertEdge("C", "A", 1.0);
+        Assertions.assertEquals(4, graph.compact().getEdgeCount(), "Changing the graph should rebuild the snapshot.");
+    }
+
+    /**
+     * Tests that compact queries find the same paths as the linked graph, and throw for missing nodes and paths
+     */
+    @Test
+    public void testCompactQueries() {
+        DijkstraGraph<Integer, Double> graph = new DijkstraGraph<>();
+        Random random = new Random(400);
+        for(int i = 0; i < 200; i++) {
+            graph.insertNode(i);
+        }
+        for(int i = 0; i < 1000; i++) {
+            graph.insertEdge(random.nextInt(199), random.nextInt(199), 1.0 + random.nextInt(20));
+        }
+        for(int i = 0; i < 50; i++) {
+            int start = random.nextInt(199);
+            int end = random.nextInt(199);
+            graph.setCompactQueries(false);
+            double expectedCost = graph.shortestPathCost(start, end);
+            graph.setCompactQueries(true);
+            Assertions.assertEquals(expectedCost, graph.shortestPathCost(start, end), "Compact costs should match.");
+            List<Integer> path = graph.shortestPathData(start, end);
+            double pathCost = 0;
+            for(int j = 1; j < path.size(); j++) {
+                pathCost += graph.getEdge(path.get(j - 1), path.get(j));
+            }
+            Assertions.assertEquals(expectedCost, pathCost, "Compact paths should follow edges of the shortest cost.");
+        }
+        // node 199 has no edges at all
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData(0, 199), "Unreachable nodes should throw.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathCost(0, 500), "Missing nodes should throw.");
+    }
+
+}
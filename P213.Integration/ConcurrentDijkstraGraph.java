@@ -0,0 +1,303 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * This class is a DijkstraGraph that can be shared between threads. Every
+ * method runs under one ReentrantReadWriteLock: queries, including the
+ * shortest path searches, share the read lock and run in parallel, while
+ * methods that change nodes or edges take the write lock for the short time
+ * the change itself needs. The lock is reentrant because BaseGraph's batch
+ * inserts and DijkstraGraph's compact queries call other public methods of
+ * the graph. Actions and visitors passed to forEachNode and forEachEdge run
+ * under the read lock, so they must not change the graph.
+ */
+public class ConcurrentDijkstraGraph<NodeType, EdgeType extends Number>
+        extends DijkstraGraph<NodeType, EdgeType> {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock readLock = lock.readLock();
+    private final Lock writeLock = lock.writeLock();
+    // guards the cached CompactGraph, which readers may build in parallel
+    private final Object compactLock = new Object();
+
+    /**
+     * Constructor that sets the map that the graph uses.
+     */
+    public ConcurrentDijkstraGraph() {
+        super();
+    }
+
+    /**
+     * Constructor that lets the caller choose the map implementation the
+     * graph uses. The map is only read under the read lock and only written
+     * under the write lock, so it needs no synchronization of its own, but
+     * reading it must not change it (as incremental resizing does).
+     *
+     * @param map the map the graph uses to map a data object to the node
+     *            object it is stored in
+     */
+    public ConcurrentDijkstraGraph(MapADT<NodeType, Node> map) {
+        super(map);
+    }
+
+    @Override
+    public boolean insertNode(NodeType data) {
+        writeLock.lock();
+        try {
+            return super.insertNode(data);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int insertNodes(List<NodeType> data, boolean assumeUnique) {
+        writeLock.lock();
+        try {
+            return super.insertNodes(data, assumeUnique);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeNode(NodeType data) {
+        writeLock.lock();
+        try {
+            return super.removeNode(data);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsNode(NodeType data) {
+        readLock.lock();
+        try {
+            return super.containsNode(data);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves a list of all node data from this graph. Unlike BaseGraph,
+     * the list is a copy, so it does not see later changes to the graph.
+     *
+     * @return list of all node data
+     */
+    @Override
+    public List<NodeType> getAllNodes() {
+        readLock.lock();
+        try {
+            return new ArrayList<>(super.getAllNodes());
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachNode(Consumer<NodeType> action) {
+        readLock.lock();
+        try {
+            super.forEachNode(action);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void forEachEdge(EdgeVisitor<NodeType, EdgeType> visitor) {
+        readLock.lock();
+        try {
+            super.forEachEdge(visitor);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void freezeNodes() {
+        writeLock.lock();
+        try {
+            super.freezeNodes();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Return an immutable compressed sparse row snapshot of the graph. Once
+     * built, the snapshot can be searched without any lock at all.
+     *
+     * @return a CompactGraph with the same nodes and edges as this graph
+     */
+    @Override
+    public CompactGraph<NodeType> compact() {
+        readLock.lock();
+        try {
+            // the read lock keeps the graph from changing, and compactLock keeps
+            // two readers from updating the cached snapshot at the same time
+            synchronized (compactLock) {
+                return super.compact();
+            }
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int getNodeCount() {
+        readLock.lock();
+        try {
+            return super.getNodeCount();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int getNodeId(NodeType data) {
+        readLock.lock();
+        try {
+            return super.getNodeId(data);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public NodeType getNodeData(int id) {
+        readLock.lock();
+        try {
+            return super.getNodeData(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean insertEdge(NodeType pred, NodeType succ, EdgeType weight) {
+        writeLock.lock();
+        try {
+            return super.insertEdge(pred, succ, weight);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int insertEdges(List<NodeType> preds, List<NodeType> succs, List<EdgeType> weights,
+            boolean assumeUnique) {
+        writeLock.lock();
+        try {
+            return super.insertEdges(preds, succs, weights, assumeUnique);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean removeEdge(NodeType pred, NodeType succ) {
+        writeLock.lock();
+        try {
+            return super.removeEdge(pred, succ);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean containsEdge(NodeType pred, NodeType succ) {
+        readLock.lock();
+        try {
+            return super.containsEdge(pred, succ);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public EdgeType getEdge(NodeType pred, NodeType succ) {
+        readLock.lock();
+        try {
+            return super.getEdge(pred, succ);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public int getEdgeCount() {
+        readLock.lock();
+        try {
+            return super.getEdgeCount();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void setSuccessorIndexThreshold(int threshold) {
+        writeLock.lock();
+        try {
+            super.setSuccessorIndexThreshold(threshold);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public int getSuccessorIndexThreshold() {
+        readLock.lock();
+        try {
+            return super.getSuccessorIndexThreshold();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void setCompactQueries(boolean compactQueries) {
+        writeLock.lock();
+        try {
+            super.setCompactQueries(compactQueries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isCompactQueries() {
+        readLock.lock();
+        try {
+            return super.isCompactQueries();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        readLock.lock();
+        try {
+            return super.shortestPathData(start, end);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public double shortestPathCost(NodeType start, NodeType end) {
+        readLock.lock();
+        try {
+            return super.shortestPathCost(start, end);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+}
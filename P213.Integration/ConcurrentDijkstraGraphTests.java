@@ -0,0 +1,81 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ConcurrentDijkstraGraphTests {
+
+    /**
+     * Tests that queries running in parallel with edge updates always see the graph either before or after an update
+     */
+    @Test
+    public void testQueriesDuringUpdates() throws Exception {
+        ConcurrentDijkstraGraph<Integer, Double> graph = new ConcurrentDijkstraGraph<>();
+        for(int i = 0; i < 100; i++) {
+            graph.insertNode(i);
+        }
+        for(int i = 0; i < 99; i++) {
+            graph.insertEdge(i, i + 1, 1.0); // a chain from 0 to 99 that costs 99
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch halfWay = new CountDownLatch(3); // counted down by each reader after 1000 of its queries
+        try {
+            List<Future<Integer>> readers = new ArrayList<>();
+            for(int r = 0; r < 3; r++) {
+                readers.add(pool.submit(() -> {
+                    int shortcuts = 0;
+                    for(int q = 0; q < 2000; q++) {
+                        if(q == 1000) {
+                            halfWay.countDown();
+                        }
+                        double cost = graph.shortestPathCost(0, 99);
+                        List<Integer> path = graph.shortestPathData(0, 99);
+                        Assertions.assertEquals(true, cost == 99.0 || cost == 10.0, "Unexpected cost " + cost + ".");
+                        Assertions.assertEquals(true, path.size() == 100 || path.size() == 2, "Unexpected path " + path + ".");
+                        shortcuts += path.size() == 2 ? 1 : 0;
+                    }
+                    return shortcuts;
+                }));
+            }
+            Future<?> writer = pool.submit(() -> {
+                for(int w = 0; w < 500; w++) {
+                    graph.insertEdge(0, 99, 10.0); // add a shortcut,
+                    graph.removeEdge(0, 99); // and take it away again
+                }
+                graph.insertEdge(0, 99, 10.0);
+            });
+            Assertions.assertEquals(true, halfWay.await(60, TimeUnit.SECONDS), "Every reader should get half way through its queries.");
+            graph.setCompactQueries(true); // switch from linked to compact searches once every reader is half way through
+            writer.get();
+            for(Future<Integer> reader : readers) {
+                reader.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assertions.assertEquals(100, graph.getEdgeCount(), "Expected the chain plus the shortcut.");
+        Assertions.assertEquals(List.of(0, 99), graph.shortestPathData(0, 99), "Shortest path should take the shortcut.");
+        Assertions.assertEquals(10.0, graph.compact().shortestPathCost(0, graph.getNodeId(99)), "The snapshot should see the last update.");
+    }
+
+    /**
+     * Tests that batch inserts, which call other locked methods of the graph, do not deadlock
+     */
+    @Test
+    public void testReentrantBatchInserts() {
+        ConcurrentDijkstraGraph<String, Double> graph = new ConcurrentDijkstraGraph<>();
+        Assertions.assertEquals(3, graph.insertNodes(List.of("A", "B", "C"), false), "Expected 3 nodes.");
+        Assertions.assertEquals(2, graph.insertEdges(List.of("A", "B"), List.of("B", "C"), List.of(1.0, 2.0), false), "Expected 2 edges.");
+        graph.setCompactQueries(true);
+        Assertions.assertEquals(List.of("A", "B", "C"), graph.shortestPathData("A", "C"), "Shortest path should go through B.");
+        List<String> visited = new ArrayList<>();
+        graph.forEachEdge((pred, succ, weight) -> visited.add(pred + succ));
+        Assertions.assertEquals(2, visited.size(), "Expected 2 edges to be visited.");
+    }
+
+}
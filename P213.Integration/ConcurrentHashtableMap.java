@@ -0,0 +1,489 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements MapADT so that it can be shared between threads. The
+ * keys are split across a fixed number of segments by the high bits of their
+ * hash, and each segment is a small chained hashtable guarded by its own lock.
+ * Writers only lock the segment of their key, and each segment grows on its
+ * own, so one resize never blocks writers of other segments. Readers take no
+ * lock at all: chains are never modified in place (removal copies the entries
+ * in front of the removed one), so a reader always walks a consistent chain.
+ */
+public class ConcurrentHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    // immutable chain link, so a chain that readers can see is never changed in place
+    protected static final class Entry<KeyType, ValueType> {
+        public final KeyType key;
+        public final int hash;
+        public final ValueType value;
+        public final Entry<KeyType, ValueType> next;
+
+        public Entry(KeyType key, int hash, ValueType value, Entry<KeyType, ValueType> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    // a lock together with the chained table of the keys that hash to this segment
+    protected class Segment extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+        public volatile AtomicReferenceArray<Entry<KeyType, ValueType>> table;
+        public volatile int count = 0;
+
+        public Segment(int capacity) {
+            this.table = new AtomicReferenceArray<>(capacity);
+        }
+    }
+
+    protected final Segment[] segments;
+    private final int segmentShift; // shift that turns a hash into its segment index
+
+    // two argument constructor that initializes a hashmap with at least the given total capacity,
+    // split across the given number of segments (both are rounded up to powers of two)
+    public ConcurrentHashtableMap(int capacity, int concurrencyLevel) {
+        if(capacity < 1 || concurrencyLevel < 1) {
+            throw new IllegalArgumentException("capacity and concurrency level must be positive");
+        }
+        int segmentCount = powerOfTwoAtLeast(concurrencyLevel);
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+        @SuppressWarnings({"unchecked", "rawtypes"}) // generic array creation needs the raw Segment type
+        Segment[] segments = (Segment[]) new ConcurrentHashtableMap.Segment[segmentCount];
+        this.segments = segments;
+        int segmentCapacity = powerOfTwoAtLeast((capacity + segmentCount - 1) / segmentCount);
+        for(int i = 0; i < segmentCount; i++) {
+            this.segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    // single argument constructor that initializes a hashmap with given capacity and 16 segments
+    public ConcurrentHashtableMap(int capacity) {
+        this(capacity, 16);
+    }
+
+    // default constructor that initializes a hashmap with default capacity of 64
+    public ConcurrentHashtableMap() {
+        this(64);
+    }
+
+  /**
+   * Inserts the provided key and value, locking only the segment of the key
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the hashmap already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if(!this.putIfAbsent(key, value)) {
+            throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
+        }
+    }
+
+  /**
+   * Atomically inserts the provided key and value unless the key is already stored
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the entry was inserted, false if the hashmap already contains this key
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        return insert(key, value, true);
+    }
+
+  /**
+   * Grows each segment once so that the hashmap can hold expectedSize entries, spread evenly over
+   * the segments, without reaching the load factor
+   * @param expectedSize the number of entries the hashmap will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        int perSegment = (expectedSize + segments.length - 1) / segments.length;
+        int segmentCapacity = powerOfTwoAtLeast((int)(perSegment / 0.8) + 1);
+        for(Segment segment : segments) {
+            segment.lock();
+            try {
+                if(segment.table.length() < segmentCapacity) {
+                    resizeHelper(segment, segmentCapacity);
+                }
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+  /**
+   * Inserts a batch of entries after sizing the segments for all of them, locking one segment per
+   * entry. When the keys are known to be unique, chains are not searched for a duplicate
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique
+   *        true if no key is repeated or already stored
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is
+   *         false and the hashmap already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        ensureCapacity(getSize() + keys.size());
+        Iterator<ValueType> valueIterator = values.iterator();
+        for(KeyType key : keys) {
+            if(!insert(key, valueIterator.next(), !assumeUnique)) {
+                throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
+            }
+        }
+    }
+
+  /**
+   * Checks whether the given key is stored in the hashmap, without locking
+   * @param key a KeyType
+   * @return true if the hashmap contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findEntry(key) != null;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, without locking
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        Entry<KeyType, ValueType> entry = findEntry(key);
+        if(entry == null) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return entry.value;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given
+   * default when the key does not exist, without locking or throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        Entry<KeyType, ValueType> entry = findEntry(key);
+        return entry == null ? defaultValue : entry.value;
+    }
+
+  /**
+   * Finds and removes the entry with the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the removed key, a ValueType object
+   */
+    @Override
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        Entry<KeyType, ValueType> entry = removeEntry(key);
+        if(entry == null) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return entry.value;
+    }
+
+  /**
+   * Removes the entry with the key provided as an argument if it exists, without throwing
+   * @param key a KeyType
+   * @return the value stored at the removed key, or null if the key does not exist in hashmap
+   */
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        Entry<KeyType, ValueType> entry = removeEntry(key);
+        return entry == null ? null : entry.value;
+    }
+
+  /**
+   * Empties every segment, one at a time
+   * @param None
+   * @return None
+   */
+    @Override
+    public void clear() {
+        for(Segment segment : segments) {
+            segment.lock();
+            try {
+                segment.table = new AtomicReferenceArray<>(segment.table.length());
+                segment.count = 0; // reset size of this segment
+            } finally {
+                segment.unlock();
+            }
+        }
+    }
+
+  /**
+   * Returns size of this hashtable, summed over the segments without locking them
+   * @param None
+   * @return hashtable's size, an int
+   */
+    @Override
+    public int getSize() {
+        int size = 0;
+        for(Segment segment : segments) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+  /**
+   * Returns capacity of this hashtable, summed over the segments without locking them
+   * @param None
+   * @return total number of buckets, an int
+   */
+    @Override
+    public int getCapacity() {
+        int capacity = 0;
+        for(Segment segment : segments) {
+            capacity += segment.table.length();
+        }
+        return capacity;
+    }
+
+  /**
+   * Returns a consistent snapshot of the keys: every segment is locked (always in the same
+   * order) while the keys are copied, so no insert or removal can happen halfway through
+   * @param None
+   * @return a new list of keys, a List of KeyType
+   */
+    @Override
+    public List<KeyType> getKeys() {
+        for(Segment segment : segments) {
+            segment.lock();
+        }
+        try {
+            List<KeyType> keys = new ArrayList<>(getSize());
+            for(Segment segment : segments) {
+                AtomicReferenceArray<Entry<KeyType, ValueType>> table = segment.table;
+                for(int i = 0; i < table.length(); i++) {
+                    for(Entry<KeyType, ValueType> e = table.get(i); e != null; e = e.next) {
+                        keys.add(e.key);
+                    }
+                }
+            }
+            return keys;
+        } finally {
+            for(int i = segments.length - 1; i >= 0; i--) {
+                segments[i].unlock();
+            }
+        }
+    }
+
+  /**
+   * Passes every entry to the given action without locking. Chains are immutable, so every entry
+   * that stays in the map for the whole walk is visited exactly once; entries inserted or removed
+   * during the walk may or may not be visited
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(Segment segment : segments) {
+            AtomicReferenceArray<Entry<KeyType, ValueType>> table = segment.table; // single volatile read
+            for(int i = 0; i < table.length(); i++) {
+                for(Entry<KeyType, ValueType> e = table.get(i); e != null; e = e.next) {
+                    action.accept(e.key, e.value);
+                }
+            }
+        }
+    }
+
+  /**
+   * Returns a cursor over every entry that walks the segments without locking, with the same
+   * guarantees as forEach
+   * @param None
+   * @return a new cursor positioned before the first entry, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new ChainCursor();
+    }
+
+    // cursor over the chains of every segment, which keeps the current segment, bucket and entry
+    private class ChainCursor implements MapCursor<KeyType, ValueType> {
+
+        private int segmentIndex = 0;
+        private AtomicReferenceArray<Entry<KeyType, ValueType>> table = segments[0].table;
+        private int bucket = -1;
+        private Entry<KeyType, ValueType> entry = null;
+        private boolean done = false;
+
+        @Override
+        public boolean next() {
+            if(entry != null) {
+                entry = entry.next;
+            }
+            while(entry == null && !done) {
+                bucket++;
+                if(bucket == table.length()) {
+                    segmentIndex++;
+                    if(segmentIndex == segments.length) {
+                        done = true; // every segment has been walked
+                        break;
+                    }
+                    table = segments[segmentIndex].table;
+                    bucket = 0;
+                }
+                entry = table.get(bucket);
+            }
+            return entry != null;
+        }
+
+        @Override
+        public KeyType key() {
+            return current().key;
+        }
+
+        @Override
+        public ValueType value() {
+            return current().value;
+        }
+
+        private Entry<KeyType, ValueType> current() {
+            if(entry == null) {
+                throw new IllegalStateException("cursor is not on an entry");
+            }
+            return entry;
+        }
+
+    }
+
+  /**
+   * Private helper method that computes a well mixed hash of a key, since its high bits pick
+   * the segment and its low bits pick the bucket
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the mixed hash, an int
+   */
+    private static int hash(Object key) {
+        if(key == null) {
+            throw new NullPointerException("key is null"); // check if key is null
+        }
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments.length == 1 ? segments[0] : segments[hash >>> segmentShift];
+    }
+
+  /**
+   * Private helper method that looks a key up without locking
+   * @param key a KeyType
+   * @return the entry of the key, or null if the key is not found
+   */
+    private Entry<KeyType, ValueType> findEntry(KeyType key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Entry<KeyType, ValueType>> table = segmentFor(hash).table; // single volatile read
+        return findIn(table.get(hash & (table.length() - 1)), key, hash);
+    }
+
+    private Entry<KeyType, ValueType> findIn(Entry<KeyType, ValueType> head, KeyType key, int hash) {
+        for(Entry<KeyType, ValueType> e = head; e != null; e = e.next) {
+            if(e.hash == hash && e.key.equals(key)) {
+                return e;
+            }
+        }
+        return null; // key not found
+    }
+
+  /**
+   * Private helper method that inserts an entry under its segment's lock
+   * @param key a KeyType, value a ValueType, checkDuplicate false if the key is known to be absent
+   * @throws NullPointerException if the passed key is null
+   * @return true if the entry was inserted, false if the hashmap already contains this key
+   */
+    private boolean insert(KeyType key, ValueType value, boolean checkDuplicate) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            AtomicReferenceArray<Entry<KeyType, ValueType>> table = segment.table;
+            int id = hash & (table.length() - 1);
+            Entry<KeyType, ValueType> head = table.get(id);
+            if(checkDuplicate && findIn(head, key, hash) != null) {
+                return false; // key already exists, leave its entry unchanged
+            }
+            table.set(id, new Entry<>(key, hash, value, head)); // publish the new entry at the front of its chain
+            segment.count = segment.count + 1;
+            if((double)segment.count / table.length() >= 0.8) {
+                resizeHelper(segment, table.length() * 2); // check the load factor of this segment and if necessary, grow it
+            }
+            return true;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+  /**
+   * Private helper method that unlinks the entry of a key under its segment's lock. The entries
+   * in front of it are copied, so readers that are still walking the old chain are unaffected
+   * @param key a KeyType
+   * @return the removed entry, or null if the key is not found
+   */
+    private Entry<KeyType, ValueType> removeEntry(KeyType key) {
+        int hash = hash(key);
+        Segment segment = segmentFor(hash);
+        segment.lock();
+        try {
+            AtomicReferenceArray<Entry<KeyType, ValueType>> table = segment.table;
+            int id = hash & (table.length() - 1);
+            Entry<KeyType, ValueType> head = table.get(id);
+            Entry<KeyType, ValueType> target = findIn(head, key, hash);
+            if(target == null) {
+                return null;
+            }
+            Entry<KeyType, ValueType> newHead = target.next;
+            for(Entry<KeyType, ValueType> e = head; e != target; e = e.next) {
+                newHead = new Entry<>(e.key, e.hash, e.value, newHead);
+            }
+            table.set(id, newHead);
+            segment.count = segment.count - 1; // decrement size after removal
+            return target;
+        } finally {
+            segment.unlock();
+        }
+    }
+
+  /**
+   * Private helper method that grows the table of one segment while its lock is held. The new
+   * table is filled with copies of the entries and then published with a single volatile write,
+   * so readers keep using the complete old table until they see the complete new one
+   * @param segment the segment to grow, capacity its new table length (a power of two)
+   * @return None
+   */
+    private void resizeHelper(Segment segment, int capacity) {
+        AtomicReferenceArray<Entry<KeyType, ValueType>> oldTable = segment.table;
+        AtomicReferenceArray<Entry<KeyType, ValueType>> newTable = new AtomicReferenceArray<>(capacity);
+        int mask = newTable.length() - 1;
+        for(int i = 0; i < oldTable.length(); i++) {
+            for(Entry<KeyType, ValueType> e = oldTable.get(i); e != null; e = e.next) {
+                int id = e.hash & mask;
+                newTable.set(id, new Entry<>(e.key, e.hash, e.value, newTable.get(id)));
+            }
+        }
+        segment.table = newTable;
+    }
+
+    private static int powerOfTwoAtLeast(int n) {
+        return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+
+}
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrentHashtableMapTests {
+
+    /**
+     * Tests the single threaded behavior, which should match HashtableMap apart from rejecting null keys with NPE
+     */
+    @Test
+    public void testBasicFunctionality() {
+        ConcurrentHashtableMap<String, Integer> map = new ConcurrentHashtableMap<>(4, 2);
+        for(int i = 0; i < 100; i++) {
+            map.put("key" + i, i);
+        }
+        Assertions.assertEquals(100, map.getSize(), "Expected size is 100 after adding elements.");
+        Assertions.assertEquals(true, map.getCapacity() >= 125, "Segments should have grown to keep the load factor below 0.8.");
+        Assertions.assertEquals(42, map.get("key42"), "Expected value is 42 for key 'key42'.");
+        Assertions.assertEquals(false, map.putIfAbsent("key42", 0), "putIfAbsent should refuse an existing key.");
+        Assertions.assertEquals(42, map.remove("key42"), "Removing 'key42' should return 42.");
+        Assertions.assertEquals(null, map.removeIfPresent("key42"), "Removing a missing key should return null.");
+        Assertions.assertEquals(-1, map.getOrDefault("key42", -1), "A missing key should return the default value.");
+        Assertions.assertEquals(99, map.getKeys().size(), "The key snapshot should list every remaining key.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get("key42"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("key1", 1));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(null, 1));
+        map.clear();
+        Assertions.assertEquals(0, map.getSize(), "Map should contain no elements after clearing.");
+    }
+
+    /**
+     * Tests that concurrent writers never lose or duplicate keys while readers keep looking keys up
+     */
+    @Test
+    public void testConcurrentWritersAndReaders() throws InterruptedException {
+        ConcurrentHashtableMap<Integer, Integer> map = new ConcurrentHashtableMap<>(8);
+        AtomicInteger wrongReads = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            int offset = t * 10000;
+            threads.add(new Thread(() -> {
+                for(int i = offset; i < offset + 10000; i++) {
+                    map.put(i, i);
+                    if(i % 2 == 0) {
+                        map.remove(i); // keep only the odd keys
+                    }
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            for(int i = 0; i < 40000; i++) {
+                Integer value = map.getOrDefault(i, i);
+                if(value != i) {
+                    wrongReads.incrementAndGet(); // a reader must only ever see the value stored with a key
+                }
+            }
+        }));
+        for(Thread thread : threads) {
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(0, wrongReads.get(), "Lock-free reads should never see a wrong value.");
+        Assertions.assertEquals(20000, map.getSize(), "Every odd key should be stored exactly once.");
+        Assertions.assertEquals(20000, map.getKeys().size(), "The key snapshot should list every stored key.");
+        for(int i = 0; i < 40000; i++) {
+            Assertions.assertEquals(i % 2 == 1, map.containsKey(i), "Only odd keys should remain.");
+        }
+    }
+
+    /**
+     * Tests that the map plugs into the BaseGraph(MapADT) constructor through DijkstraGraph
+     */
+    @Test
+    public void testDropInForDijkstraGraph() {
+        DijkstraGraph<String, Double> graph = new DijkstraGraph<>(new ConcurrentHashtableMap<>());
+        try {
+            new Backend(graph).loadGraphData("campus.dot");
+        } catch (IOException e) {
+            Assertions.assertTrue(false, "Exception not expected here.");
+        }
+        Assertions.assertEquals(List.of("Memorial Union", "Science Hall"), graph.shortestPathData("Memorial Union", "Science Hall"),
+                                "Shortest path from Memorial Union to Science Hall is incorrect.");
+    }
+
+}
@@ -6,10 +6,10 @@
 // Lecturer: Florian Heimerl
 // Notes to Grader: <optional extra notes>
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.NoSuchElementException;
-import java.util.PriorityQueue;
 
 /**
  * This class extends the BaseGraph data structure with additional methods for
@@ -53,6 +53,9 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         }
     }
 
+    // when true, shortest path queries run on the graph's CompactGraph snapshot
+    private boolean compactQueries = false;
+
     /**
      * Constructor that sets the map that the graph uses.
      */
@@ -60,6 +63,57 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
         super(new HashtableMap<>());
     }
 
+    /**
+     * Constructor that lets the caller choose the map implementation the
+     * graph uses, for example an OpenAddressingHashtableMap.
+     *
+     * @param map the map the graph uses to map a data object to the node
+     *            object it is stored in
+     */
+    public DijkstraGraph(MapADT<NodeType, Node> map) {
+        super(map);
+    }
+
+    /**
+     * Choose whether shortestPathData and shortestPathCost search the graph's
+     * immutable CompactGraph snapshot, whose edges are stored in primitive
+     * arrays, instead of the linked Node and Edge objects. The snapshot is
+     * rebuilt on the first query after any node or edge changes, so this pays
+     * off for graphs that are queried far more often than they are modified.
+     *
+     * @param compactQueries true to answer queries from the compact snapshot
+     */
+    public void setCompactQueries(boolean compactQueries) {
+        this.compactQueries = compactQueries;
+    }
+
+    /**
+     * Check whether shortest path queries run on the CompactGraph snapshot.
+     *
+     * @return true if queries are answered from the compact snapshot
+     */
+    public boolean isCompactQueries() {
+        return compactQueries;
+    }
+
+    /**
+     * Look up the ids of the start and end nodes in a CompactGraph snapshot.
+     *
+     * @param graph the snapshot to search
+     * @param start the data item in the starting node for the path
+     * @param end   the data item in the destination node for the path
+     * @return an array holding the start id and then the end id
+     * @throws NoSuchElementException when either start or end data do not
+     *                                correspond to a graph node
+     */
+    private int[] compactIds(CompactGraph<NodeType> graph, NodeType start, NodeType end) {
+        int startId = graph.idOf(start);
+        int endId = graph.idOf(end);
+        if (startId < 0 || endId < 0)
+            throw new NoSuchElementException("one or both nodes do not exist in graph or no path exists between them");
+        return new int[] { startId, endId };
+    }
+
     /**
      * This helper method creates a network of SearchNodes while computing the
      * shortest path between the provided start and end locations. The
@@ -67,6 +121,10 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      * shortest path that is found: it's cost is the cost of that shortest path,
      * and the nodes linked together through predecessor references represent
      * all of the nodes along that shortest path (ordered from end to start).
+     * While searching, the cost and predecessor of every node are kept as
+     * primitives in arrays indexed by node id, so relaxing an edge neither
+     * boxes a cost nor hashes a node; SearchNodes are only created for the
+     * nodes of the path that is found.
      *
      * @param start the data item in the starting node for the path
      * @param end   the data item in the destination node for the path
@@ -77,27 +135,72 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      */
     protected SearchNode computeShortestPath(NodeType start, NodeType end) {
         // if graph does not contain either node, then throw an exception
-        if(!this.containsNode(start) || !this.containsNode(end)) {
+        Node startNode = this.nodes.getOrDefault(start, null);
+        Node endNode = this.nodes.getOrDefault(end, null);
+        if(startNode == null || endNode == null) {
             throw new NoSuchElementException("one or both nodes do not exist in graph or no path exists between them");
         }
-        PriorityQueue<SearchNode> pq = new PriorityQueue<>(); // useful for tracking edges
-        HashtableMap<NodeType, Double> map = new HashtableMap<>(); // useful for tracking visited nodes
-        pq.add(new SearchNode(this.nodes.get(start), 0.0, null)); // initialize queue with original start node      
+        // from here on the search works on node ids only: the lowest cost found so far and the
+        // predecessor of each reached node live in arrays indexed by id, and the queue holds ids
+        int endId = endNode.id;
+        double[] costs = new double[this.nodesById.size()];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        int[] predecessors = new int[this.nodesById.size()];
+        costs[startNode.id] = 0.0;
+        predecessors[startNode.id] = -1;
+        IntDoubleHeap pq = new IntDoubleHeap(); // useful for tracking edges
+        pq.add(startNode.id, 0.0); // initialize queue with original start node
         while(!pq.isEmpty()) {
-            SearchNode currentNode = pq.poll(); // remove minimum weighted edge
-            if(!map.containsKey(currentNode.node.data)) {
-                map.put(currentNode.node.data, currentNode.cost); // if destination node hasn't been visited, mark as visited
-                if(currentNode.node.data.equals(end)) {
-                    return currentNode; // if we have reached end node, return
-                }
-                for(Edge edge : currentNode.node.edgesLeaving) {
-                    pq.add(new SearchNode(edge.successor, edge.data.doubleValue() + currentNode.cost, currentNode)); // extend queue with all unvisited neighbors of current node
+            int currentId = pq.peekId();
+            double currentCost = pq.peekPriority();
+            pq.removeMin(); // remove minimum weighted edge
+            if(currentCost > costs[currentId]) {
+                continue; // a cheaper path to this node was already expanded, so skip this stale entry
+            }
+            if(currentId == endId) {
+                return searchNodePath(currentId, costs, predecessors); // if we have reached end node, return
+            }
+            for(Edge edge : this.nodesById.get(currentId).edgesLeaving) {
+                int successorId = edge.successor.id;
+                double cost = edge.data.doubleValue() + currentCost;
+                // only queue neighbors whose cost improves, which keeps the queue small
+                if(cost < costs[successorId]) {
+                    costs[successorId] = cost;
+                    predecessors[successorId] = currentId;
+                    pq.add(successorId, cost);
                 }
             }
         }
         throw new NoSuchElementException("no nodes found between start and end"); // if the loop reaches the end, then no existing edge was found
     }
 
+    /**
+     * Translates the result of an id based search back into the chain of
+     * SearchNodes that computeShortestPath returns, creating one SearchNode
+     * for each node along the path.
+     *
+     * @param endId        the id of the final node of the path
+     * @param costs        the cost of the path to each reached node, by id
+     * @param predecessors the predecessor id of each reached node, or -1 for
+     *                     the start node
+     * @return SearchNode for the final end node within the path
+     */
+    private SearchNode searchNodePath(int endId, double[] costs, int[] predecessors) {
+        int length = 0;
+        for(int id = endId; id != -1; id = predecessors[id]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for(int id = endId, i = length - 1; id != -1; id = predecessors[id], i--) {
+            path[i] = id;
+        }
+        SearchNode searchNode = null;
+        for(int id : path) {
+            searchNode = new SearchNode(this.nodesById.get(id), costs[id], searchNode);
+        }
+        return searchNode;
+    }
+
     /**
      * Returns the list of data values from nodes along the shortest path
      * from the node with the provided start value through the node with the
@@ -111,6 +214,14 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      * @return list of data item from node along this shortest path
      */
     public List<NodeType> shortestPathData(NodeType start, NodeType end) {
+        if (compactQueries) {
+            CompactGraph<NodeType> graph = compact();
+            int[] ids = compactIds(graph, start, end);
+            List<NodeType> path = new LinkedList<>();
+            for (int id : graph.shortestPath(ids[0], ids[1]))
+                path.add(graph.dataOf(id));
+            return path;
+        }
         SearchNode returnedNode = computeShortestPath(start, end); // get the final SearchNode
         List<NodeType> path = new LinkedList<>(); // create a LinkedList to store the traversal path
         
@@ -134,6 +245,11 @@ public class DijkstraGraph<NodeType, EdgeType extends Number>
      * @return the cost of the shortest path between these nodes
      */
     public double shortestPathCost(NodeType start, NodeType end) {
+        if (compactQueries) {
+            CompactGraph<NodeType> graph = compact();
+            int[] ids = compactIds(graph, start, end);
+            return graph.shortestPathCost(ids[0], ids[1]);
+        }
         SearchNode returnedNode = computeShortestPath(start, end);
         return returnedNode.cost; // return shortest path from start to end (already accounted for in Searchnode.cost)
     }
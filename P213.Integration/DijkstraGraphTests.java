@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class DijkstraGraphTests {
+
+    /**
+     * Tests that node ids are dense, map back to their data, and stay dense when nodes are removed
+     */
+    @Test
+    public void testNodeIds() {
+        DijkstraGraph<String, Double> graph = new DijkstraGraph<>();
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNodes(List.of("C", "D"), true);
+        for(String node : List.of("A", "B", "C", "D")) {
+            int id = graph.getNodeId(node);
+            Assertions.assertEquals(true, id >= 0 && id < 4, "Ids should run from 0 to 3.");
+            Assertions.assertEquals(node, graph.getNodeData(id), "Ids should map back to their data.");
+        }
+        Assertions.assertEquals(-1, graph.getNodeId("E"), "Missing nodes should have no id.");
+        int removedId = graph.getNodeId("B");
+        graph.removeNode("B");
+        Assertions.assertEquals(-1, graph.getNodeId("B"), "Removed nodes should have no id.");
+        Assertions.assertEquals(3, graph.getNodeCount(), "Expected 3 nodes.");
+        Assertions.assertNotEquals("B", graph.getNodeData(removedId), "The freed id should be reused.");
+        for(String node : List.of("A", "C", "D")) {
+            Assertions.assertEquals(node, graph.getNodeData(graph.getNodeId(node)), "Remaining ids should map back to their data.");
+        }
+        Assertions.assertThrows(IndexOutOfBoundsException.class, () -> graph.getNodeData(3), "Ids past the last node should throw.");
+    }
+
+    /**
+     * Tests that shortest paths are still found through nodes whose ids moved when another node was removed
+     */
+    @Test
+    public void testShortestPathAfterRemoval() {
+        DijkstraGraph<String, Double> graph = new DijkstraGraph<>();
+        for(String node : List.of("A", "B", "C", "D", "E")) {
+            graph.insertNode(node);
+        }
+        graph.insertEdge("A", "B", 1.0);
+        graph.insertEdge("B", "E", 1.0);
+        graph.insertEdge("A", "C", 2.0);
+        graph.insertEdge("C", "D", 2.0);
+        graph.insertEdge("D", "E", 2.0);
+        Assertions.assertEquals(List.of("A", "B", "E"), graph.shortestPathData("A", "E"), "Shortest path should go through B.");
+        graph.removeNode("B"); // E takes over the id of B
+        Assertions.assertEquals(List.of("A", "C", "D", "E"), graph.shortestPathData("A", "E"), "Shortest path should go through C and D.");
+        Assertions.assertEquals(6.0, graph.shortestPathCost("A", "E"), "Shortest path should cost 6.");
+        Assertions.assertEquals(List.of("C"), graph.shortestPathData("C", "C"), "A node should reach itself.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData("E", "A"), "Unreachable nodes should throw.");
+    }
+
+    /**
+     * Tests that edges of a hub node are found, updated and removed the same way once it indexes its successors
+     */
+    @Test
+    public void testSuccessorIndex() {
+        DijkstraGraph<Integer, Double> graph = new DijkstraGraph<>();
+        Assertions.assertEquals(BaseGraph.DEFAULT_SUCCESSOR_INDEX_THRESHOLD, graph.getSuccessorIndexThreshold(), "Expected the default threshold.");
+        for(int i = 0; i <= 100; i++) {
+            graph.insertNode(i);
+        }
+        for(int i = 1; i <= 100; i++) {
+            graph.insertEdge(0, i, (double) i); // node 0 becomes a hub with 100 leaving edges
+        }
+        Assertions.assertEquals(100, graph.getEdgeCount(), "Expected 100 edges.");
+        Assertions.assertEquals(true, graph.insertEdge(0, 50, 0.5), "Existing edges should be updated.");
+        Assertions.assertEquals(100, graph.getEdgeCount(), "Updating an edge should not add one.");
+        Assertions.assertEquals(0.5, graph.getEdge(0, 50), "Expected the updated weight.");
+        Assertions.assertEquals(true, graph.removeEdge(0, 70), "Indexed edges should be removable.");
+        Assertions.assertEquals(false, graph.containsEdge(0, 70), "Removed edges should be gone from the index.");
+        Assertions.assertEquals(false, graph.removeEdge(0, 70), "Removed edges should not be removed twice.");
+        Assertions.assertEquals(true, graph.removeNode(80), "Successor nodes should be removable.");
+        Assertions.assertEquals(false, graph.containsEdge(0, 80), "Edges to removed nodes should be gone from the index.");
+        Assertions.assertEquals(true, graph.containsEdge(0, 90), "Other edges should stay in the index.");
+        Assertions.assertEquals(false, graph.containsEdge(0, null), "Null successors should never match.");
+        Assertions.assertEquals(List.of(0, 50), graph.shortestPathData(0, 50), "Shortest path should use the updated edge.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> graph.setSuccessorIndexThreshold(-1), "Negative thresholds should throw.");
+    }
+
+    /**
+     * Tests that removing edges and hub nodes from the middle of edge lists keeps the remaining edges reachable
+     */
+    @Test
+    public void testEdgeRemoval() {
+        DijkstraGraph<Integer, Double> graph = new DijkstraGraph<>();
+        for(int i = 0; i < 50; i++) {
+            graph.insertNode(i);
+        }
+        for(int i = 1; i < 50; i++) {
+            graph.insertEdge(0, i, 1.0); // node 0 is a hub both ways
+            graph.insertEdge(i, 0, 1.0);
+            if(i > 1) {
+                graph.insertEdge(i - 1, i, 5.0); // and a chain of more expensive edges
+            }
+        }
+        for(int i = 1; i < 50; i += 3) {
+            Assertions.assertEquals(true, graph.removeEdge(0, i), "Edges in the middle of a list should be removable.");
+        }
+        for(int i = 1; i < 50; i++) {
+            Assertions.assertEquals(i % 3 != 1, graph.containsEdge(0, i), "Only the removed edges should be gone.");
+        }
+        Assertions.assertEquals(2.0, graph.shortestPathCost(5, 6), "Shortest path should go through the hub.");
+        Assertions.assertEquals(true, graph.removeNode(0), "Hub nodes should be removable.");
+        Assertions.assertEquals(5.0, graph.shortestPathCost(5, 6), "Shortest path should follow the chain once the hub is gone.");
+        for(int i = 1; i < 50; i++) {
+            Assertions.assertEquals(false, graph.containsEdge(i, 0), "Edges into a removed node should be gone.");
+        }
+        Assertions.assertEquals(true, graph.removeEdge(10, 11), "Chain edges should still be removable.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> graph.shortestPathData(10, 11), "Removed chain edges should cut the path.");
+    }
+
+}
@@ -0,0 +1,321 @@
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements an immutable MapADT for maps that are only read once
+ * they have been built, such as the node map of a loaded graph. The keys and
+ * values are copied into two dense arrays, and a cuckoo hash table of int
+ * slots points into them: every key is stored in one of the two slots picked
+ * by two hash functions, so a lookup probes at most two slots. Since nothing
+ * changes after construction (all fields are final), any number of threads
+ * can read the map without synchronization.
+ *
+ * Keys whose hashCode() is shared by three or more keys cannot all be given
+ * their own slots, since both of their slots are the same for any hash
+ * function; such keys are kept in a stash that lookups search linearly after
+ * their two probes miss. The stash is small for well spread hash codes, but
+ * when most keys share a few hash codes it holds most of the keys.
+ */
+public class FrozenHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    // an entry that has caused this many evictions in a row goes to the stash
+    private static final int MAX_EVICTIONS = 64;
+    // a build with a larger stash is retried with new hash functions
+    private static final int STASH_LIMIT = 4;
+    private static final int MAX_ATTEMPTS = 8;
+
+    protected final Object[] keys; // in the order of the source map
+    protected final Object[] values;
+    protected final int[] slots; // entry index + 1 of the key stored in each slot, or 0 for an empty slot
+    protected final int[] stash; // entry indexes of the keys that did not get a slot
+    private final int seed1;
+    private final int seed2;
+
+    // single argument constructor that copies every pair of the given map, in the order its cursor visits them
+    public FrozenHashtableMap(MapADT<KeyType, ValueType> source) {
+        int count = source.getSize();
+        this.keys = new Object[count];
+        this.values = new Object[count];
+        MapCursor<KeyType, ValueType> cursor = source.cursor();
+        for(int i = 0; cursor.next(); i++) {
+            this.keys[i] = cursor.key();
+            this.values[i] = cursor.value();
+        }
+        int capacity = Integer.highestOneBit(Math.max(count * 2 - 1, 1)) << 1; // cuckoo hashing needs a load factor below 0.5
+        int[] slots = null;
+        int[] stash = null;
+        int seed = 0x9E3779B9;
+        for(int attempt = 1; ; attempt++) {
+            slots = new int[capacity];
+            stash = build(slots, seed, seed * 0x85ebca6b + 1);
+            if(stash.length <= STASH_LIMIT || attempt == MAX_ATTEMPTS) {
+                break;
+            }
+            seed = seed * 0xc2b2ae35 + attempt; // try new hash functions
+            if(attempt % 2 == 0) {
+                capacity *= 2; // and more room every other attempt
+            }
+        }
+        this.slots = slots;
+        this.stash = stash;
+        this.seed1 = seed;
+        this.seed2 = seed * 0x85ebca6b + 1;
+    }
+
+  /**
+   * Private helper method that places every entry into the given slot table with cuckoo hashing:
+   * an entry whose two slots are taken evicts the occupant of one of them, which moves to its
+   * other slot, and so on until a free slot is reached
+   * @param slots an empty slot table, seed1 and seed2 the seeds of the two hash functions
+   * @return the entry indexes that could not be placed
+   */
+    private int[] build(int[] slots, int seed1, int seed2) {
+        int mask = slots.length - 1;
+        int[] stash = new int[0];
+        for(int entry = 0; entry < keys.length; entry++) {
+            int carried = entry;
+            int hash = keys[carried].hashCode();
+            int slot = mix(hash, seed1) & mask;
+            for(int evictions = 0; carried >= 0; evictions++) {
+                if(slots[slot] == 0) {
+                    slots[slot] = carried + 1;
+                    carried = -1; // placed
+                } else if(evictions == MAX_EVICTIONS) {
+                    stash = Arrays.copyOf(stash, stash.length + 1);
+                    stash[stash.length - 1] = carried; // give up on a slot for this entry
+                    carried = -1;
+                } else {
+                    int evicted = slots[slot] - 1;
+                    slots[slot] = carried + 1;
+                    carried = evicted;
+                    hash = keys[carried].hashCode();
+                    int first = mix(hash, seed1) & mask;
+                    slot = slot == first ? mix(hash, seed2) & mask : first; // move the evicted entry to its other slot
+                }
+            }
+        }
+        return stash;
+    }
+
+  /**
+   * Private helper method that derives a slot from a hashCode() and a seed (murmur3 fmix32)
+   * @param hash a hashCode(), seed an int
+   * @return the mixed hash, an int
+   */
+    private static int mix(int hash, int seed) {
+        int h = hash ^ seed;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+  /**
+   * Private helper method that finds the entry of a key in one of its two slots, or in the stash
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the entry index of the key, or -1 if the key is not stored
+   */
+    private int findEntry(Object key) {
+        int hash = key.hashCode(); // throws NPE when key is null
+        int mask = slots.length - 1;
+        int entry = slots[mix(hash, seed1) & mask] - 1;
+        if(entry >= 0 && keys[entry].equals(key)) {
+            return entry;
+        }
+        entry = slots[mix(hash, seed2) & mask] - 1;
+        if(entry >= 0 && keys[entry].equals(key)) {
+            return entry;
+        }
+        for(int stashed : stash) {
+            if(keys[stashed].equals(key)) {
+                return stashed;
+            }
+        }
+        return -1; // key not found
+    }
+
+    @Override
+    public void put(KeyType key, ValueType value) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public ValueType remove(KeyType key) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("a frozen map is immutable");
+    }
+
+  /**
+   * Checks whether the given key is stored in the map, probing at most two slots
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the map contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findEntry(key) >= 0;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, probing at most two slots
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in the map
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        int entry = findEntry(key);
+        if(entry < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return (ValueType) values[entry];
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given default
+   * when the key does not exist, probing at most two slots
+   * @param key a KeyType, defaultValue a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        int entry = findEntry(key);
+        return entry < 0 ? defaultValue : (ValueType) values[entry];
+    }
+
+  /**
+   * Returns size of this map
+   * @param None
+   * @return map's size, an int
+   */
+    @Override
+    public int getSize() {
+        return keys.length;
+    }
+
+  /**
+   * Returns the number of slots of the cuckoo table
+   * @param None
+   * @return number of slots, an int
+   */
+    @Override
+    public int getCapacity() {
+        return slots.length;
+    }
+
+  /**
+   * Returns the number of keys that did not get a slot of their own and are searched linearly
+   * @param None
+   * @return size of the stash, an int
+   */
+    public int getStashSize() {
+        return stash.length;
+    }
+
+  /**
+   * Returns a read-only view of the keys, in the order of the map this one was built from
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    public List<KeyType> getKeys() {
+        return new AbstractList<KeyType>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public KeyType get(int index) {
+                return (KeyType) keys[index];
+            }
+
+            @Override
+            public int size() {
+                return keys.length;
+            }
+        };
+    }
+
+  /**
+   * Passes every pair to the given action, in the order of the map this one was built from
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(int i = 0; i < keys.length; i++) {
+            action.accept((KeyType) keys[i], (ValueType) values[i]);
+        }
+    }
+
+  /**
+   * Returns a cursor over every pair, in the order of the map this one was built from
+   * @param None
+   * @return a new cursor positioned before the first pair, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new MapCursor<KeyType, ValueType>() {
+            private int position = -1;
+
+            @Override
+            public boolean next() {
+                if(position < keys.length) {
+                    position++;
+                }
+                return position < keys.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public KeyType key() {
+                return (KeyType) keys[current()];
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public ValueType value() {
+                return (ValueType) values[current()];
+            }
+
+            private int current() {
+                if(position < 0 || position >= keys.length) {
+                    throw new IllegalStateException("cursor is not on a pair");
+                }
+                return position;
+            }
+        };
+    }
+
+}
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class FrozenHashtableMapTests {
+
+    /**
+     * Tests that a frozen copy finds every key of its source, keeps the source's key order, and misses other keys
+     */
+    @Test
+    public void testLookups() {
+        HashtableMap<String, Integer> source = new HashtableMap<>();
+        for(int i = 0; i < 1000; i++) {
+            source.put("Building " + i, i);
+        }
+        FrozenHashtableMap<String, Integer> frozen = source.freeze();
+        Assertions.assertEquals(1000, frozen.getSize(), "Frozen map should hold every pair of its source.");
+        Assertions.assertEquals(true, frozen.getCapacity() >= 2000, "Cuckoo table should stay below half full.");
+        Assertions.assertEquals(0, frozen.getStashSize(), "Keys with distinct hash codes should all get a slot.");
+        for(int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, frozen.get("Building " + i), "Every key should map to its source value.");
+        }
+        Assertions.assertEquals(source.getKeys(), frozen.getKeys(), "Frozen keys should keep the source's order.");
+        Assertions.assertEquals(false, frozen.containsKey("Building 1000"), "Frozen map should not find missing keys.");
+        Assertions.assertEquals(-1, frozen.getOrDefault("Library", -1), "Missing keys should give the default value.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> frozen.get("Library"), "get should throw for missing keys.");
+        source.put("Library", 5);
+        Assertions.assertEquals(false, frozen.containsKey("Library"), "Frozen map should not see later changes to its source.");
+    }
+
+    /**
+     * Tests that keys sharing one hash code are still found, through the stash once their slots run out
+     */
+    @Test
+    public void testCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code, so every string made of them does too
+        List<String> keys = new ArrayList<>();
+        for(int i = 0; i < 16; i++) {
+            String key = "";
+            for(int bit = 0; bit < 4; bit++) {
+                key += ((i >> bit) & 1) == 0 ? "Aa" : "BB";
+            }
+            keys.add(key);
+        }
+        HashtableMap<String, Integer> source = new HashtableMap<>();
+        for(int i = 0; i < keys.size(); i++) {
+            source.put(keys.get(i), i);
+            source.put("Hall " + i, -i);
+        }
+        FrozenHashtableMap<String, Integer> frozen = source.freeze();
+        Assertions.assertEquals(14, frozen.getStashSize(), "Only two keys sharing a hash code can get a slot.");
+        for(int i = 0; i < keys.size(); i++) {
+            Assertions.assertEquals(i, frozen.get(keys.get(i)), "Colliding keys should map to their values.");
+            Assertions.assertEquals(-i, frozen.get("Hall " + i), "Other keys should map to their values.");
+        }
+        Assertions.assertEquals(false, frozen.containsKey("AaAaAaAaAa"), "A missing colliding key should not be found.");
+    }
+
+    /**
+     * Tests that every mutator throws, and that forEach and the cursor visit every pair in order
+     */
+    @Test
+    public void testImmutabilityAndIteration() {
+        HashtableMap<Integer, String> source = new HashtableMap<>();
+        for(int i = 0; i < 50; i++) {
+            source.put(i * 7, "value" + i);
+        }
+        FrozenHashtableMap<Integer, String> frozen = source.freeze();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.put(1, "one"), "put should throw.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.putIfAbsent(1, "one"), "putIfAbsent should throw.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.remove(0), "remove should throw.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.clear(), "clear should throw.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> frozen.getKeys().add(1), "getKeys should be read-only.");
+        Assertions.assertThrows(NullPointerException.class, () -> frozen.containsKey(null), "Null keys should throw.");
+        List<Integer> visited = new ArrayList<>();
+        frozen.forEach((key, value) -> visited.add(key));
+        Assertions.assertEquals(source.getKeys(), visited, "forEach should visit the keys in order.");
+        MapCursor<Integer, String> cursor = frozen.cursor();
+        Assertions.assertThrows(IllegalStateException.class, () -> cursor.key(), "Cursor should not be on a pair before next.");
+        int count = 0;
+        while(cursor.next()) {
+            Assertions.assertEquals(source.get(cursor.key()), cursor.value(), "Cursor should pair each key with its value.");
+            count++;
+        }
+        Assertions.assertEquals(50, count, "Cursor should visit every pair once.");
+    }
+
+    /**
+     * Tests that a graph with frozen nodes still finds shortest paths and rejects node changes
+     */
+    @Test
+    public void testFrozenGraphNodes() {
+        DijkstraGraph<String, Double> graph = new DijkstraGraph<>();
+        graph.insertNode("A");
+        graph.insertNode("B");
+        graph.insertNode("C");
+        graph.insertEdge("A", "B", 1.0);
+        graph.insertEdge("B", "C", 2.0);
+        graph.freezeNodes();
+        graph.insertEdge("A", "C", 5.0);
+        Assertions.assertEquals(List.of("A", "B", "C"), graph.shortestPathData("A", "C"), "Shortest path should go through B.");
+        Assertions.assertEquals(3.0, graph.shortestPathCost("A", "C"), "Shortest path should cost 3.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.insertNode("D"), "Frozen nodes should reject inserts.");
+    }
+
+}
@@ -0,0 +1,31 @@
+/**
+ * A HashStrategy decides how a hashtable turns a key into a bucket index: how
+ * the key's hashCode() is mixed, how the mixed hash is reduced to an index,
+ * and which table sizes that reduction needs.
+ */
+public interface HashStrategy {
+
+    /**
+     * Computes the hash of a key that the table stores next to the entry.
+     * @param key the key to hash
+     * @return the (possibly mixed) hash of the key
+     * @throws NullPointerException if key is null
+     */
+    public int hash(Object key);
+
+    /**
+     * Reduces a hash returned by hash(key) to an index of a table.
+     * @param hash the hash to reduce
+     * @param capacity the length of the table, as returned by tableSizeFor
+     * @return an index between 0 and capacity - 1
+     */
+    public int indexFor(int hash, int capacity);
+
+    /**
+     * Rounds a requested capacity to a table length that indexFor supports.
+     * @param capacity the requested capacity
+     * @return the length to allocate, at least capacity
+     */
+    public int tableSizeFor(int capacity);
+
+}
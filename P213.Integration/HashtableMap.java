@@ -1,31 +1,367 @@
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
 import java.util.List;
-import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import javax.management.JMException;
+import javax.management.ObjectName;
 
-public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType>{
+public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType>, HashtableMapMXBean{
 
-    protected LinkedList<Pair>[] table = null;
+    protected Bucket[] table = null;
+    // while an incremental resize is in progress, the previous table whose buckets still have to be moved
+    protected Bucket[] oldTable = null;
+    private int migrateIndex = 0; // next bucket of oldTable to move into table
+    private boolean incrementalResize = false;
+    // number of old buckets moved by each operation during an incremental resize
+    private static final int MIGRATION_STEP = 4;
+    // a list bucket holding more pairs than this is turned into a tree bucket
+    protected static final int TREEIFY_THRESHOLD = 8;
+    // a tree bucket holding this many pairs or fewer is turned back into a list bucket
+    protected static final int UNTREEIFY_THRESHOLD = 6;
+    // the table shrinks by half when its load factor drops below this, which is far enough under the
+    // growth threshold of 0.8 that a table never grows and shrinks back and forth
+    protected static final double SHRINK_THRESHOLD = 0.2;
+    // length the table was created with, which automatic shrinking never goes below
+    private final int initialCapacity;
     private int size = 0;
-    private List<KeyType> keys = new ArrayList<>();
+    // every pair packed densely at positions 0..size-1, so that a pair can be dropped with a swap-remove
+    private Pair[] entries = null;
+    // in incremental mode, the array that replaces entries once it is full, filled a few pairs per insert
+    // from the time entries is half full, or null while no such copy is in progress
+    private Pair[] grownEntries = null;
+    private int grownCopied = 0; // positions of entries already copied into grownEntries
+    // read-only view of the keys in entries, handed out by getKeys()
+    private final List<KeyType> keys = new KeyView();
+    // how keys are hashed and hashes are turned into bucket indexes
+    protected final HashStrategy hashStrategy;
+    // counters behind getStats(), only allocated while statistics are enabled
+    private volatile StatsCounters counters = null;
+    // a rehash of a table holding at least this many pairs is split over the common ForkJoinPool
+    private int parallelRehashThreshold = Integer.MAX_VALUE;
+    // number of old buckets one task of a parallel rehash moves without splitting further
+    private static final int PARALLEL_REHASH_CHUNK = 1 << 14;
+    // number of locks guarding the buckets of the new table during a parallel rehash that does not double
+    // the table (a doubling rehash needs none)
+    private static final int REHASH_LOCK_STRIPES = 256;
+    // filter over the hashes of the stored keys, checked before a bucket is scanned, or null when disabled
+    private BloomFilter bloomFilter = null;
+    // in incremental mode, the filter of the previous table, checked along with bloomFilter until every old
+    // bucket is moved (and its hashes added to bloomFilter), or null while no such migration is in progress
+    private BloomFilter oldBloomFilter = null;
+    private double bloomFalsePositiveRate = 0; // rate the filter is rebuilt with, 0 when disabled
 
     protected class Pair {
 
         public KeyType key;
         public ValueType value;
+        public int index; // position of this pair within entries
+        public int hash; // cached hash of key, so rehashing and mismatches need no hashCode()/equals() call
 
-        public Pair(KeyType key, ValueType value) {
+        public Pair(KeyType key, ValueType value, int hash) {
             this.key = key;
             this.value = value;
+            this.hash = hash;
+        }
+
+    }
+
+    // LongAdders keep counting cheap, and can be read from a JMX thread while the map is in use
+    private static class StatsCounters {
+        public final LongAdder hits = new LongAdder();
+        public final LongAdder misses = new LongAdder();
+        public final LongAdder resizes = new LongAdder();
+        public final LongAdder resizeNanos = new LongAdder();
+    }
+
+    // moves the buckets source[from..to) into target, splitting the range in half until it is small enough.
+    // When target is twice as long as source, both hash strategies send bucket i only to buckets i and
+    // i + source.length, so the ranges never share a target bucket and locks is null. Otherwise pairs from
+    // other ranges may land in the same bucket, and each target bucket is guarded by a lock stripe
+    private class RehashTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Bucket[] source;
+        private final Bucket[] target;
+        private final Object[] locks;
+        private final int from;
+        private final int to;
+
+        public RehashTask(Bucket[] source, Bucket[] target, Object[] locks, int from, int to) {
+            this.source = source;
+            this.target = target;
+            this.locks = locks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if(to - from > PARALLEL_REHASH_CHUNK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new RehashTask(source, target, locks, from, middle), new RehashTask(source, target, locks, middle, to));
+                return;
+            }
+            for(int i = from; i < to; i++) {
+                if(source[i] == null) {
+                    continue;
+                }
+                if(locks == null) {
+                    transferBucket(source[i], target); // no other range writes to this bucket's targets
+                    continue;
+                }
+                for(Pair pair : source[i].pairs()) {
+                    int id = hashStrategy.indexFor(pair.hash, target.length);
+                    synchronized(locks[id % locks.length]) { // pairs from other ranges may land in the same bucket
+                        addPairTo(target, pair);
+                    }
+                }
+            }
+        }
+    }
+
+    // the pairs stored at one index of the table
+    protected abstract class Bucket {
+
+        public abstract Pair find(KeyType key, int hash);
+
+        public abstract void add(Pair pair);
+
+        public abstract Pair unlink(KeyType key, int hash);
+
+        public abstract int size();
+
+        public abstract List<Pair> pairs();
+
+    }
+
+    // a short bucket, scanned from front to back
+    protected class ListBucket extends Bucket {
+
+        public LinkedList<Pair> list = new LinkedList<>();
+
+        @Override
+        public Pair find(KeyType key, int hash) {
+            for(Pair pair : list) {
+                if(pair.hash == hash && pair.key.equals(key)) { // only call equals() when the cached hashes match
+                    return pair;
+                }
+            }
+            return null; // key not found
+        }
+
+        @Override
+        public void add(Pair pair) {
+            list.add(pair);
+        }
+
+        @Override
+        public Pair unlink(KeyType key, int hash) {
+            Iterator<Pair> iterator = list.iterator();
+            while(iterator.hasNext()) {
+                Pair pair = iterator.next();
+                if(pair.hash == hash && pair.key.equals(key)) {
+                    iterator.remove(); // unlink the pair in place instead of searching the LinkedList again
+                    return pair;
+                }
+            }
+            return null; // key not found
+        }
+
+        @Override
+        public int size() {
+            return list.size();
+        }
+
+        @Override
+        public List<Pair> pairs() {
+            return list;
+        }
+
+    }
+
+    // pairs whose keys cannot be told apart by the order of a tree bucket: equal hashes, and keys
+    // that are not mutually Comparable or compare as equal
+    protected class PairGroup implements Comparable<PairGroup> {
+
+        public final int hash;
+        public final KeyType key; // key of the first pair, which places the group within the tree
+        public LinkedList<Pair> pairs = new LinkedList<>();
+
+        public PairGroup(Pair pair) {
+            this.hash = pair.hash;
+            this.key = pair.key;
+            this.pairs.add(pair);
+        }
+
+        @Override
+        public int compareTo(PairGroup other) {
+            return compareKeys(this.hash, this.key, other.hash, other.key);
+        }
+
+    }
+
+    // red-black tree of the pair groups of one tree bucket
+    protected class PairTree extends RedBlackTree<PairGroup> {
+
+        // walks down from the root to the group that would hold the given key
+        public PairGroup findGroup(KeyType key, int hash) {
+            BinaryTreeNode<PairGroup> node = this.root;
+            while(node != null) {
+                PairGroup group = node.getData();
+                int comparison = compareKeys(hash, key, group.hash, group.key);
+                if(comparison == 0) {
+                    return group;
+                }
+                node = comparison < 0 ? node.childLeft() : node.childRight();
+            }
+            return null; // no group for this key
+        }
+
+        // appends the pairs of every group in the subtree, in order
+        public void collectPairs(BinaryTreeNode<PairGroup> node, List<Pair> out) {
+            if(node == null) {
+                return;
+            }
+            collectPairs(node.childLeft(), out);
+            out.addAll(node.getData().pairs);
+            collectPairs(node.childRight(), out);
+        }
+
+    }
+
+    // a long bucket, kept in a red-black tree so that a lookup takes O(log n) even if many keys collide.
+    // The project's RedBlackTree has no delete, so a removal only empties a pair out of its group, and
+    // the tree is rebuilt once more than half of its groups are empty
+    protected class TreeBucket extends Bucket {
+
+        public PairTree tree = new PairTree();
+        private int size = 0;
+        private int groups = 0; // groups in the tree, including empty ones
+        private int emptyGroups = 0;
+
+        public TreeBucket(List<Pair> pairs) {
+            for(Pair pair : pairs) {
+                add(pair);
+            }
+        }
+
+        @Override
+        public Pair find(KeyType key, int hash) {
+            PairGroup group = tree.findGroup(key, hash);
+            if(group != null) {
+                for(Pair pair : group.pairs) {
+                    if(pair.hash == hash && pair.key.equals(key)) {
+                        return pair;
+                    }
+                }
+            }
+            return null; // key not found
+        }
+
+        @Override
+        public void add(Pair pair) {
+            PairGroup group = tree.findGroup(pair.key, pair.hash);
+            if(group == null) {
+                tree.insert(new PairGroup(pair));
+                groups++;
+            } else {
+                if(group.pairs.isEmpty()) {
+                    emptyGroups--; // the group is reused
+                }
+                group.pairs.add(pair);
+            }
+            size++;
+        }
+
+        @Override
+        public Pair unlink(KeyType key, int hash) {
+            PairGroup group = tree.findGroup(key, hash);
+            if(group == null) {
+                return null; // key not found
+            }
+            Iterator<Pair> iterator = group.pairs.iterator();
+            while(iterator.hasNext()) {
+                Pair pair = iterator.next();
+                if(pair.hash == hash && pair.key.equals(key)) {
+                    iterator.remove();
+                    size--;
+                    if(group.pairs.isEmpty()) {
+                        emptyGroups++;
+                        if(emptyGroups * 2 > groups) {
+                            rebuild(); // drop the empty groups
+                        }
+                    }
+                    return pair;
+                }
+            }
+            return null; // key not found
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public List<Pair> pairs() {
+            List<Pair> pairs = new ArrayList<>(size);
+            tree.collectPairs(tree.root, pairs);
+            return pairs;
         }
 
+        private void rebuild() {
+            List<Pair> pairs = pairs();
+            tree = new PairTree();
+            size = 0;
+            groups = 0;
+            emptyGroups = 0;
+            for(Pair pair : pairs) {
+                add(pair);
+            }
+        }
+
+    }
+
+    // three argument constructor that initializes a hashmap with given capacity (rounded as hashStrategy
+    // requires), which resizes incrementally (a few buckets per operation) instead of all at once when
+    // incrementalResize is true, and which hashes keys with the given strategy. Incremental mode also
+    // grows the dense pair array a few pairs per insert. Some stalls remain: the insert that starts a
+    // resize still allocates the doubled table (and, at half occupancy, the doubled pair array), which the
+    // JVM zeroes in one step, and shrinking after removals, ensureCapacity and trimToSize finish a pending
+    // migration and move every pair at once
+    public HashtableMap(int capacity, boolean incrementalResize, HashStrategy hashStrategy) {
+        this.hashStrategy = hashStrategy;
+        this.table = (Bucket[]) new HashtableMap.Bucket[hashStrategy.tableSizeFor(capacity)];
+        this.initialCapacity = this.table.length;
+        this.entries = (Pair[]) new HashtableMap.Pair[Math.max(capacity, 1)];
+        this.incrementalResize = incrementalResize;
+    }
+
+    // two argument constructor that initializes a hashmap with given capacity, hashing keys with the given strategy
+    public HashtableMap(int capacity, HashStrategy hashStrategy) {
+        this(capacity, false, hashStrategy);
+    }
+
+    // two argument constructor that initializes a hashmap with given capacity, which resizes
+    // incrementally (a few buckets per operation) instead of all at once when incrementalResize is true
+    public HashtableMap(int capacity, boolean incrementalResize) {
+        this(capacity, incrementalResize, new ModuloHashStrategy());
     }
 
     // single argument constructor that initializes a hashmap with given capacity
     public HashtableMap(int capacity) {
-        this.table = new LinkedList[capacity];
+        this(capacity, false);
     }
 
     // default constructor that initializes a hashmap with default capacity of 64
@@ -45,19 +381,40 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
         if(key == null) {
             throw new NoSuchElementException("key is null"); // check if key is null
         }
-        if(this.containsKey(key)) {
+        if(!this.putIfAbsent(key, value)) {
             throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
         }
-        int id = Math.abs(key.hashCode() % this.table.length); // use hashCode() to get the hash index
-        if (this.table[id] == null) {
-            this.table[id] = new LinkedList<>(); // if this index is empty, initialize a new LinkedList there
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects unless the key is already stored,
+   * scanning the key's bucket only once
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the pair was inserted, false if the hashmap already contains this key
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        if(key == null) {
+            throw new NullPointerException("key is null"); // check if key is null
+        }
+        migrateHelper();
+        int hash = hashStrategy.hash(key);
+        if(bloomMightContain(hash)) { // a filter miss proves the key is new
+            if(this.oldTable != null && findPairIn(this.oldTable, key, hash) != null) {
+                return false; // key already exists in a bucket that has not been moved yet
+            }
+            if(findPairIn(this.table, key, hash) != null) {
+                return false; // key already exists, leave its pair unchanged
+            }
         }
-        this.table[id].add(new Pair(key, value)); // add pair to the correct index
-        keys.add(key); // add inserted key into list of all keys
-	size++; // increment size
+        Pair pair = new Pair(key, value, hash);
+        addPairTo(this.table, pair); // add pair to the correct index
+        appendEntry(pair);
         if((double)size / this.table.length >= 0.8) {
             resizeHelper(); // check the load factor and if necessary, resize and rehash using the helper method
         }
+        return true;
     }
 
   /**
@@ -67,15 +424,7 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
    */
     @Override
     public boolean containsKey(KeyType key) {
-        int id = Math.abs(key.hashCode() % this.table.length); // use hashCode() to get the hash index
-        if (this.table[id] != null) {
-            for(Pair pair : this.table[id]) {
-                if(pair.key.equals(key)) {
-                    return true; // if the key is found in the LinkedList at the hash index, then return true
-                }
-            }
-        }
-        return false; // key not found
+        return findPair(key) != null;
     }
 
   /**
@@ -86,18 +435,23 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
    */
     @Override
     public ValueType get(KeyType key) throws NoSuchElementException {
-        if(!this.containsKey(key)) {
+        Pair pair = findPair(key);
+        if(pair == null) {
             throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
         }
-        int id = Math.abs(key.hashCode() % this.table.length); // use hashCode() to get the hash index
-        if (this.table[id] != null) {
-            for(Pair pair : this.table[id]) {
-                if(pair.key.equals(key)) {
-                    return pair.value; // if the key is found in the LinkedList at the hash index, then return the value at the key
-                }
-            }
-        }
-        return null; // key not found
+        return pair.value;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given
+   * default when the key does not exist, without throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        Pair pair = findPair(key);
+        return pair == null ? defaultValue : pair.value;
     }
 
   /**
@@ -109,22 +463,458 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
    */
     @Override
     public ValueType remove(KeyType key) throws NoSuchElementException {
-        if(!this.containsKey(key)) {
+        Pair pair = removePair(key);
+        if(pair == null) {
             throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
         }
-        int id = Math.abs(key.hashCode() % this.table.length); // use hashCode() to get the hash index
-        if (this.table[id] != null) {
-            for(Pair pair : this.table[id]) {
-                if(pair.key.equals(key)) {
-                    ValueType val = pair.value;
-                    this.table[id].remove(pair); // if the key is found in the LinkedList at the hash index, then remove the corresponding pair
-                    keys.remove(key); // remove deleted key from list of all keys
-		    size --; // decrement size after removal
-                    return val; // return a reference to the removed value
+        return pair.value; // return a reference to the removed value
+    }
+
+  /**
+   * Removes the key-value pair with the key provided as an argument if it exists, without throwing
+   * @param key a KeyType
+   * @return the value stored at the removed key, or null if the key does not exist in hashmap
+   */
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        Pair pair = removePair(key);
+        return pair == null ? null : pair.value;
+    }
+
+  /**
+   * Grows the hashtable in a single rehash so that it can hold expectedSize pairs without
+   * reaching the load factor
+   * @param expectedSize the number of pairs the hashtable will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if(expectedSize > entries.length) {
+            entries = Arrays.copyOf(entries, expectedSize); // room for every pair in the dense array as well
+            grownEntries = null;
+        }
+        if((double)expectedSize / this.table.length < 0.8) {
+            return; // the table is already large enough
+        }
+        finishMigration();
+        rehash(hashStrategy.tableSizeFor((int)(expectedSize / 0.8) + 1));
+    }
+
+  /**
+   * Inserts a batch of pairs after sizing the hashtable for all of them. When the keys are known
+   * to be unique, each pair is added to its bucket without searching the bucket first
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique
+   *        true if no key is repeated or already stored
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is
+   *         false and the hashmap already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        ensureCapacity(size + keys.size());
+        Iterator<ValueType> valueIterator = values.iterator();
+        if(!assumeUnique) {
+            for(KeyType key : keys) {
+                if(!this.putIfAbsent(key, valueIterator.next())) {
+                    throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
                 }
             }
+            return;
+        }
+        finishMigration(); // every pair goes straight into the current table
+        for(KeyType key : keys) {
+            if(key == null) {
+                throw new NullPointerException("key is null"); // check if key is null
+            }
+            Pair pair = new Pair(key, valueIterator.next(), hashStrategy.hash(key));
+            addPairTo(this.table, pair);
+            appendEntry(pair);
+        }
+    }
+
+  /**
+   * Writes every pair of the hashtable to a snapshot file, which MappedHashtableMap.open can map
+   * back into memory as a read-only map without deserializing it
+   * @param path the snapshot file (replaced if it exists), keyCodec and valueCodec the codecs that
+   *        encode keys and values
+   * @throws IOException if the file cannot be written
+   * @return None
+   */
+    public void writeSnapshot(Path path, SnapshotCodec<KeyType> keyCodec, SnapshotCodec<ValueType> valueCodec) throws IOException {
+        List<ValueType> values = new ArrayList<>(size);
+        for(int i = 0; i < size; i++) {
+            values.add(entries[i].value);
+        }
+        MappedHashtableMap.write(path, keys, values, keyCodec, valueCodec);
+    }
+
+  /**
+   * Takes a snapshot of the statistics of this hashtable. Load and chain lengths are measured by
+   * scanning the buckets now (in both tables while an incremental resize is in progress); resizes,
+   * hits and misses are only counted while statistics are enabled. Taking a snapshot while another
+   * thread modifies the map gives approximate figures
+   * @param None
+   * @return the current statistics, a HashtableStats
+   */
+    @Override
+    public HashtableStats getStats() {
+        // read each table once, since a JMX thread may call this while the owning thread swaps them
+        Bucket[] buckets = this.table;
+        Bucket[] oldBuckets = this.oldTable;
+        int[] shape = new int[3]; // occupied buckets, tree buckets, longest chain
+        measureBuckets(buckets, shape);
+        if(oldBuckets != null) {
+            measureBuckets(oldBuckets, shape);
+        }
+        int occupied = shape[0];
+        int trees = shape[1];
+        int maxChain = shape[2];
+        StatsCounters stats = counters;
+        if(stats == null) {
+            return new HashtableStats(size, buckets.length, occupied, trees, maxChain, 0, 0, 0, 0);
+        }
+        return new HashtableStats(size, buckets.length, occupied, trees, maxChain, stats.resizes.sum(),
+                                  stats.resizeNanos.sum(), stats.hits.sum(), stats.misses.sum());
+    }
+
+    private void measureBuckets(Bucket[] buckets, int[] shape) {
+        for(Bucket bucket : buckets) {
+            if(bucket != null && bucket.size() > 0) {
+                shape[0]++;
+                if(bucket instanceof HashtableMap.TreeBucket) {
+                    shape[1]++;
+                }
+                shape[2] = Math.max(shape[2], bucket.size());
+            }
+        }
+    }
+
+  /**
+   * Returns whether this hashtable is counting resizes, hits and misses
+   * @param None
+   * @return true if statistics are enabled, false otherwise
+   */
+    @Override
+    public boolean isStatsEnabled() {
+        return counters != null;
+    }
+
+  /**
+   * Starts or stops counting resizes, hits and misses. While disabled, each lookup only pays for
+   * one null check; enabling statistics again starts every counter from zero
+   * @param enabled true to count, false to stop counting
+   * @return None
+   */
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        counters = enabled ? new StatsCounters() : null;
+    }
+
+  /**
+   * Registers this hashtable with the platform MBean server, so that JMX clients such as jconsole
+   * can read its statistics
+   * @param name a String that tells this map apart from other registered maps
+   * @throws JMException if the name is already registered or the MBean cannot be registered
+   * @return the name the MBean was registered under, an ObjectName
+   */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("HashtableMap:type=HashtableMap,name=" + ObjectName.quote(name));
+        ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+        return objectName;
+    }
+
+  /**
+   * Keeps a Bloom filter over the hashes of the stored keys, which lookups and insertions check before
+   * scanning a bucket, so that most lookups of missing keys never touch the table. Removed keys stay in
+   * the filter until the next rehash or clear, which rebuild it for the new capacity. In incremental mode,
+   * a resize starts an empty filter that is filled as the buckets move, and lookups check the previous
+   * filter as well until then, so missing keys get through to a bucket scan somewhat more often
+   * @param falsePositiveRate the share of missing keys the filter lets through to a bucket scan
+   * @throws IllegalArgumentException if falsePositiveRate is not between 0 and 1
+   * @return None
+   */
+    public void enableBloomFilter(double falsePositiveRate) {
+        if(!(falsePositiveRate > 0 && falsePositiveRate < 1)) {
+            throw new IllegalArgumentException("false positive rate must be between 0 and 1");
+        }
+        this.bloomFalsePositiveRate = falsePositiveRate;
+        rebuildBloomFilter();
+    }
+
+  /**
+   * Drops the Bloom filter, so that every lookup scans the key's bucket again
+   * @param None
+   * @return None
+   */
+    public void disableBloomFilter() {
+        this.bloomFalsePositiveRate = 0;
+        this.bloomFilter = null;
+        this.oldBloomFilter = null;
+    }
+
+  /**
+   * Returns whether lookups check a Bloom filter before scanning a bucket
+   * @param None
+   * @return true if the Bloom filter is enabled
+   */
+    public boolean isBloomFilterEnabled() {
+        return this.bloomFilter != null;
+    }
+
+  /**
+   * Private helper method that builds a new Bloom filter sized for as many keys as the current table
+   * holds before it grows, and adds the hash of every stored key to it
+   * @param None
+   * @return None
+   */
+    private void rebuildBloomFilter() {
+        if(bloomFalsePositiveRate == 0) {
+            return; // no filter to maintain
+        }
+        BloomFilter filter = new BloomFilter(Math.max(size, (int)(this.table.length * 0.8) + 1), bloomFalsePositiveRate);
+        for(int i = 0; i < size; i++) {
+            filter.add(entries[i].hash);
+        }
+        this.bloomFilter = filter;
+        this.oldBloomFilter = null; // the new filter already covers the pairs of both tables
+    }
+
+  /**
+   * Private helper method that checks whether a hash may belong to a stored key. While an incremental
+   * resize is in progress, a hash is only ruled out if neither the new filter nor the previous one has it
+   * @param hash the hash of a key
+   * @return false if no stored key has this hash, true otherwise or if the Bloom filter is disabled
+   */
+    private boolean bloomMightContain(int hash) {
+        if(bloomFilter == null || bloomFilter.mightContain(hash)) {
+            return true;
+        }
+        return oldBloomFilter != null && oldBloomFilter.mightContain(hash); // key may sit in an old bucket
+    }
+
+  /**
+   * Returns whether the bucket at the given index is currently stored as a red-black tree
+   * @param index an index of the table
+   * @return true if the bucket is a tree bucket, false if it is a list bucket or empty
+   */
+    public boolean isTreeBucket(int index) {
+        return this.table[index] instanceof HashtableMap.TreeBucket;
+    }
+
+  /**
+   * Private helper method that scans the bucket of a key for its pair, in both tables while an
+   * incremental resize is in progress. When the Bloom filter rules the key out, no bucket is scanned
+   * @param key a KeyType
+   * @return the pair stored with the given key, or null if the key is not found
+   */
+    private Pair findPair(KeyType key) {
+        migrateHelper();
+        int hash = hashStrategy.hash(key);
+        Pair pair = null;
+        if(bloomMightContain(hash)) { // a filter miss answers without scanning a bucket
+            pair = findPairIn(this.table, key, hash);
+            if(pair == null && this.oldTable != null) {
+                pair = findPairIn(this.oldTable, key, hash); // key may sit in a bucket that has not been moved yet
+            }
+        }
+        StatsCounters stats = counters;
+        if(stats != null) {
+            (pair == null ? stats.misses : stats.hits).increment();
+        }
+        return pair;
+    }
+
+  /**
+   * Private helper method that searches the bucket of a key within the given table
+   * @param buckets a table of buckets, key a KeyType, hash the key's hash from hashStrategy
+   * @return the pair stored with the given key, or null if the key is not found
+   */
+    private Pair findPairIn(Bucket[] buckets, KeyType key, int hash) {
+        Bucket bucket = buckets[hashStrategy.indexFor(hash, buckets.length)]; // use the hash to get the hash index
+        return bucket == null ? null : bucket.find(key, hash);
+    }
+
+  /**
+   * Private helper method that unlinks the pair of a key during a single search of its bucket
+   * @param key a KeyType
+   * @return the removed pair, or null if the key is not found
+   */
+    private Pair removePair(KeyType key) {
+        migrateHelper();
+        int hash = hashStrategy.hash(key);
+        Pair pair = unlinkPairIn(this.table, key, hash);
+        if(pair == null && this.oldTable != null) {
+            pair = unlinkPairIn(this.oldTable, key, hash); // key may sit in a bucket that has not been moved yet
+        }
+        if(pair != null) {
+            Pair last = entries[size - 1];
+            setEntry(pair.index, last); // move the last pair into the gap left by the removed one
+            last.index = pair.index;
+            setEntry(size - 1, null);
+            size--; // decrement size after removal
+            if(this.table.length > initialCapacity && (double)size / this.table.length < SHRINK_THRESHOLD) {
+                shrinkHelper(); // check the load factor and if necessary, give memory back
+            }
+        }
+        return pair;
+    }
+
+  /**
+   * Private helper method that unlinks the pair of a key from its bucket within the given table,
+   * turning a tree bucket back into a list bucket once it has shrunk enough
+   * @param buckets a table of buckets, key a KeyType, hash the key's hash from hashStrategy
+   * @return the unlinked pair, or null if the key is not found
+   */
+    private Pair unlinkPairIn(Bucket[] buckets, KeyType key, int hash) {
+        int id = hashStrategy.indexFor(hash, buckets.length); // use the hash to get the hash index
+        Bucket bucket = buckets[id];
+        if(bucket == null) {
+            return null; // key not found
+        }
+        Pair pair = bucket.unlink(key, hash);
+        if(pair != null && bucket instanceof HashtableMap.TreeBucket && bucket.size() <= UNTREEIFY_THRESHOLD) {
+            ListBucket list = new ListBucket();
+            list.list.addAll(bucket.pairs());
+            buckets[id] = list;
+        }
+        return pair;
+    }
+
+  /**
+   * Private helper method that stores a pair at a position of the dense array of pairs, and also in
+   * grownEntries when that position has already been copied there
+   * @param index the position, pair the pair to store, or null to empty the position
+   * @return None
+   */
+    private void setEntry(int index, Pair pair) {
+        entries[index] = pair;
+        if(grownEntries != null && index < grownCopied) {
+            grownEntries[index] = pair;
+        }
+    }
+
+  /**
+   * Private helper method that grows the dense array of pairs in incremental mode. Once entries is half
+   * full, an array of twice its length is allocated and each insert copies MIGRATION_STEP positions into
+   * it, so the copy is complete before entries runs out of room; the arrays are then swapped. No single
+   * insert copies every pair
+   * @param None
+   * @return None
+   */
+    private void growEntriesHelper() {
+        if(grownEntries == null) {
+            if(size < entries.length / 2) {
+                return; // plenty of room left
+            }
+            grownEntries = (Pair[]) new HashtableMap.Pair[entries.length * 2];
+            grownCopied = 0;
+        }
+        // copy at least MIGRATION_STEP positions, and everything that is left if entries is already full
+        int end = size == entries.length ? entries.length : Math.min(grownCopied + MIGRATION_STEP, entries.length);
+        System.arraycopy(entries, grownCopied, grownEntries, grownCopied, end - grownCopied);
+        grownCopied = end;
+        if(grownCopied == entries.length) {
+            entries = grownEntries;
+            grownEntries = null;
+        }
+    }
+
+  /**
+   * Private helper method that appends a new pair to the dense array of pairs
+   * @param pair the pair that was just added to the table
+   * @return None
+   */
+    private void appendEntry(Pair pair) {
+        if(incrementalResize) {
+            growEntriesHelper();
+        } else if(size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2); // grow the dense array of pairs
+        }
+        pair.index = size;
+        setEntry(size, pair); // append the pair after all others
+        size++; // increment size
+        if(bloomFilter != null) {
+            bloomFilter.add(pair.hash);
+        }
+    }
+
+  /**
+   * Private helper method that adds a pair to its bucket within the given table, turning a list
+   * bucket into a tree bucket once it holds too many pairs
+   * @param buckets a table of buckets, pair the pair to add
+   * @return None
+   */
+    private void addPairTo(Bucket[] buckets, Pair pair) {
+        int id = hashStrategy.indexFor(pair.hash, buckets.length); // use the cached hash to get the hash index
+        if(buckets[id] == null) {
+            buckets[id] = new ListBucket(); // if this index is empty, initialize a new bucket there
+        }
+        buckets[id].add(pair);
+        if(buckets[id] instanceof HashtableMap.ListBucket && buckets[id].size() > TREEIFY_THRESHOLD) {
+            buckets[id] = new TreeBucket(buckets[id].pairs());
+        }
+    }
+
+  /**
+   * Private helper method that orders keys within a tree bucket: by hash first, then by the class
+   * name of the keys, then by compareTo() when the keys are Comparable and of the same class. Keys
+   * that still compare as equal share a PairGroup
+   * @param hash1 the hash of key1, key1 a key, hash2 the hash of key2, key2 a key
+   * @return a negative int, zero, or a positive int as the first key orders before, with, or after the second
+   */
+    @SuppressWarnings("unchecked")
+    private static int compareKeys(int hash1, Object key1, int hash2, Object key2) {
+        if(hash1 != hash2) {
+            return Integer.compare(hash1, hash2);
+        }
+        Class<?> class1 = key1.getClass();
+        Class<?> class2 = key2.getClass();
+        if(class1 != class2) {
+            return class1.getName().compareTo(class2.getName()); // keep the order total across key types
+        }
+        if(key1 instanceof Comparable) {
+            return ((Comparable<Object>) key1).compareTo(key2);
+        }
+        return 0;
+    }
+
+  /**
+   * Returns the number of pairs from which a rehash is split over the common ForkJoinPool
+   * @param None
+   * @return the parallel rehash threshold, Integer.MAX_VALUE when rehashes are never parallel
+   */
+    public int getParallelRehashThreshold() {
+        return parallelRehashThreshold;
+    }
+
+  /**
+   * Sets the number of pairs from which a rehash that moves every pair at once (growing outside of
+   * incremental mode, ensureCapacity, shrinking and trimToSize) is split into ranges of buckets that
+   * run as ForkJoin tasks. Small tables are always rehashed on the calling thread
+   * @param threshold a number of pairs, Integer.MAX_VALUE to never rehash in parallel
+   * @throws IllegalArgumentException if threshold is negative
+   * @return None
+   */
+    public void setParallelRehashThreshold(int threshold) {
+        if(threshold < 0) {
+            throw new IllegalArgumentException("threshold must not be negative");
         }
-        return null; // key not found
+        this.parallelRehashThreshold = threshold;
+    }
+
+  /**
+   * Copies this hashtable into an immutable FrozenHashtableMap, whose lookups probe at most two slots
+   * and need no synchronization. The copy keeps the order of getKeys() and does not see later changes
+   * to this hashtable
+   * @param None
+   * @return a frozen copy of this hashtable, a FrozenHashtableMap
+   */
+    public FrozenHashtableMap<KeyType, ValueType> freeze() {
+        return new FrozenHashtableMap<>(this);
     }
 
   /**
@@ -134,10 +924,38 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
    */
     @Override
     public void clear() {
-        for (int i = 0; i < table.length; i++) {
-            this.table[i] = null; // iterate through and clear the hashtable
+        if(this.table.length > initialCapacity) {
+            this.table = (Bucket[]) new HashtableMap.Bucket[initialCapacity]; // return to the capacity the table was created with
+        } else {
+            for (int i = 0; i < table.length; i++) {
+                this.table[i] = null; // iterate through and clear the hashtable
+            }
+        }
+        this.oldTable = null; // nothing is left to migrate
+        grownEntries = null;
+        if(entries.length > initialCapacity) {
+            entries = (Pair[]) new HashtableMap.Pair[Math.max(initialCapacity, 1)];
+        } else {
+            Arrays.fill(entries, 0, size, null); // forget every pair along with its key
         }
         size = 0; // reset size
+        rebuildBloomFilter();
+    }
+
+  /**
+   * Shrinks the table to the smallest capacity that holds the current pairs below the load factor,
+   * and the dense pair array to the current size, even below the capacity the table was created with
+   * @param None
+   * @return None
+   */
+    public void trimToSize() {
+        finishMigration();
+        int capacity = hashStrategy.tableSizeFor((int)(size / 0.8) + 1);
+        if(capacity < this.table.length) {
+            rehash(capacity);
+        }
+        entries = Arrays.copyOf(entries, Math.max(size, 1));
+        grownEntries = null;
     }
 
   /**
@@ -160,31 +978,236 @@ public class HashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueTy
         return this.table.length;
     }
 
+  /**
+   * Returns whether an incremental resize is still moving pairs out of the previous table
+   * @param None
+   * @return true if both the previous and the current table are in use, false otherwise
+   */
+    public boolean isRehashing() {
+        return this.oldTable != null;
+    }
+
   /**
    * Private helper method to handle resizing and rehashing of hashtable
-   * when a high load factor is reached
+   * when a high load factor is reached. In incremental mode only the new table is
+   * allocated here, and the pairs are moved by later operations through migrateHelper
    * @param None
    * @return None
    */
     private void resizeHelper(){
-        LinkedList<Pair>[] new_table = new LinkedList[this.table.length * 2]; // initialize a new table with double the size of the current hashtable
-        for (LinkedList<Pair> current_index : this.table) { // loop through the current hashtable
-            if(current_index != null) { // if current index is non-null, transfer contents to new table
-                for(Pair pair : current_index) {
-                        int new_index = Math.abs(pair.key.hashCode() % new_table.length); // use hashCode() to get the NEW hash index
-                        if (new_table[new_index] == null) {
-                            new_table[new_index] = new LinkedList<>(); // if this index is empty, initialize a new LinkedList there
-                        }
-                        new_table[new_index].add(pair); // add pair to the new table
+        if(this.oldTable != null) {
+            finishMigration(); // a previous incremental resize must complete before the table grows again
+        }
+        if(incrementalResize) {
+            this.oldTable = this.table; // keep the current table around until all of its buckets are moved
+            this.migrateIndex = 0;
+            this.table = (Bucket[]) new HashtableMap.Bucket[this.table.length * 2];
+            if(bloomFilter != null) {
+                // rescanning every hash here would stall this put, so the new filter starts empty and
+                // migrateHelper adds the hashes of each bucket it moves, while lookups check both filters
+                oldBloomFilter = bloomFilter;
+                bloomFilter = new BloomFilter((int)(this.table.length * 0.8) + 1, bloomFalsePositiveRate);
+            }
+            StatsCounters stats = counters;
+            if(stats != null) {
+                stats.resizes.increment(); // the time is added up as migrateHelper moves the buckets
+            }
+            return;
+        }
+        rehash(this.table.length * 2); // initialize a new table with double the size of the current hashtable
+    }
+
+  /**
+   * Private helper method to handle shrinking of the hashtable when a low load factor is reached.
+   * The table is halved (but not below the capacity it was created with) in one rehash, even in
+   * incremental mode, and the dense pair array gives back the same share of its slots
+   * @param None
+   * @return None
+   */
+    private void shrinkHelper() {
+        finishMigration();
+        int capacity = Math.max(initialCapacity, hashStrategy.tableSizeFor(this.table.length / 2));
+        if(capacity < this.table.length) {
+            rehash(capacity);
+        }
+        int entriesLength = Math.max(Math.max(initialCapacity, 1), size * 2);
+        if(entriesLength < entries.length) {
+            entries = Arrays.copyOf(entries, entriesLength);
+            grownEntries = null;
+        }
+    }
+
+  /**
+   * Private helper method that moves every pair into a new table of the given length at once, split over
+   * the common ForkJoinPool when the hashtable holds at least getParallelRehashThreshold() pairs
+   * @param capacity the length of the new table
+   * @return None
+   */
+    private void rehash(int capacity) {
+        StatsCounters stats = counters;
+        long start = stats == null ? 0 : System.nanoTime();
+        Bucket[] new_table = (Bucket[]) new HashtableMap.Bucket[capacity];
+        if(size >= parallelRehashThreshold && this.table.length > PARALLEL_REHASH_CHUNK) {
+            Object[] locks = null;
+            if(capacity != this.table.length * 2) { // only a doubling keeps the target ranges apart
+                locks = new Object[REHASH_LOCK_STRIPES];
+                for(int i = 0; i < locks.length; i++) {
+                    locks[i] = new Object();
                 }
             }
+            ForkJoinPool.commonPool().invoke(new RehashTask(this.table, new_table, locks, 0, this.table.length));
+        } else {
+            for (Bucket current_index : this.table) { // loop through the current hashtable
+                transferBucket(current_index, new_table); // if current index is non-null, transfer contents to new table
+            }
         }
         this.table = new_table; // set new table as current hashmap
+        rebuildBloomFilter(); // size the filter for the new table, dropping the bits of removed keys
+        if(stats != null) {
+            stats.resizes.increment();
+            stats.resizeNanos.add(System.nanoTime() - start);
+        }
+    }
+
+  /**
+   * Private helper method that moves a bounded number of buckets from the previous table into
+   * the current one while an incremental resize is in progress, and drops the previous table
+   * once it is empty
+   * @param None
+   * @return None
+   */
+    private void migrateHelper() {
+        if(this.oldTable == null) {
+            return; // no resize in progress
+        }
+        StatsCounters stats = counters;
+        long start = stats == null ? 0 : System.nanoTime();
+        int end = Math.min(migrateIndex + MIGRATION_STEP, this.oldTable.length);
+        for(; migrateIndex < end; migrateIndex++) {
+            Bucket bucket = this.oldTable[migrateIndex];
+            if(bucket != null && oldBloomFilter != null) {
+                for(Pair pair : bucket.pairs()) {
+                    bloomFilter.add(pair.hash); // the new filter takes over the hashes of the moved pairs
+                }
+            }
+            transferBucket(bucket, this.table);
+            this.oldTable[migrateIndex] = null;
+        }
+        if(stats != null) {
+            stats.resizeNanos.add(System.nanoTime() - start);
+        }
+        if(migrateIndex == this.oldTable.length) {
+            this.oldTable = null; // every bucket has been moved
+            this.oldBloomFilter = null; // and every hash is in the new filter
+        }
     }
 
+  /**
+   * Private helper method that moves every remaining bucket of an incremental resize at once
+   * @param None
+   * @return None
+   */
+    private void finishMigration() {
+        while(this.oldTable != null) {
+            migrateHelper();
+        }
+    }
+
+  /**
+   * Private helper method that rehashes the pairs of one bucket into another table
+   * @param bucket a bucket of pairs (may be null), new_table the table to move them into
+   * @return None
+   */
+    private void transferBucket(Bucket bucket, Bucket[] new_table) {
+        if(bucket == null) {
+            return;
+        }
+        for(Pair pair : bucket.pairs()) {
+            addPairTo(new_table, pair); // the cached hash gives the NEW hash index
+        }
+    }
+
+  /**
+   * Returns a read-only view of the keys in this hashtable. The view reflects later insertions
+   * and removals; removing a key moves the most recently placed key into its position
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
     @Override
     public List<KeyType> getKeys() {
-	return keys;
+        return keys;
+    }
+
+  /**
+   * Passes every pair to the given action, walking the dense pair array rather than the buckets
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(int i = 0; i < size; i++) {
+            action.accept(entries[i].key, entries[i].value);
+        }
+    }
+
+  /**
+   * Returns a cursor over every pair, walking the dense pair array rather than the buckets
+   * @param None
+   * @return a new cursor positioned before the first pair, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new EntryCursor();
+    }
+
+    // cursor over the dense pair array, which only keeps the position of the current pair
+    private class EntryCursor implements MapCursor<KeyType, ValueType> {
+
+        private int position = -1;
+
+        @Override
+        public boolean next() {
+            if(position < size) {
+                position++;
+            }
+            return position < size;
+        }
+
+        @Override
+        public KeyType key() {
+            return current().key;
+        }
+
+        @Override
+        public ValueType value() {
+            return current().value;
+        }
+
+        private Pair current() {
+            if(position < 0 || position >= size) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+            return entries[position];
+        }
+
+    }
+
+    // list view over the keys of the dense pair array, which rejects any modification
+    private class KeyView extends AbstractList<KeyType> {
+
+        @Override
+        public KeyType get(int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index " + index + " out of range for " + size + " keys");
+            }
+            return entries[index].key;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
     }
 
     // tester method for testing both implementations of the constructor (check default and single argument)
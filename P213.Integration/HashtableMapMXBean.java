@@ -0,0 +1,28 @@
+/**
+ * The management interface through which a HashtableMap registered with
+ * HashtableMap.registerMBean reports its statistics over JMX. The Stats
+ * attribute appears in JMX clients as composite data with one item per
+ * getter of HashtableStats.
+ */
+public interface HashtableMapMXBean {
+
+    /**
+     * Takes a snapshot of the map's statistics.
+     * @return the current statistics
+     */
+    public HashtableStats getStats();
+
+    /**
+     * Tells whether the map is counting resizes, hits and misses.
+     * @return true if statistics are enabled
+     */
+    public boolean isStatsEnabled();
+
+    /**
+     * Starts or stops counting resizes, hits and misses. Enabling them
+     * again starts every counter from zero.
+     * @param enabled true to count, false to stop counting
+     */
+    public void setStatsEnabled(boolean enabled);
+
+}
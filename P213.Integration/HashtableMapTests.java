@@ -0,0 +1,401 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+public class HashtableMapTests {
+
+    // tester method for testing the non-throwing single probe operations (getOrDefault, removeIfPresent, putIfAbsent)
+    @Test
+    public void testSingleProbeOperations() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(6); // create a new hashtable
+        Assertions.assertEquals(true, map.putIfAbsent("a", "first"), "Inserting a new key should succeed.");
+        Assertions.assertEquals(false, map.putIfAbsent("a", "second"), "Inserting an existing key should be refused.");
+        Assertions.assertEquals("first", map.get("a"), "A refused insert should leave the stored value unchanged.");
+        Assertions.assertEquals("first", map.getOrDefault("a", "none"), "Expected value is 'first' for key 'a'.");
+        Assertions.assertEquals("none", map.getOrDefault("b", "none"), "A missing key should return the default value.");
+        Assertions.assertEquals(null, map.removeIfPresent("b"), "Removing a missing key should return null.");
+        Assertions.assertEquals("first", map.removeIfPresent("a"), "Removing 'a' should return 'first'.");
+        Assertions.assertEquals(0, map.getSize(), "Map should be empty after removing its only key.");
+        Assertions.assertEquals(0, map.getKeys().size(), "Removed keys should not be listed.");
+    }
+
+    // tester method for testing the key view returned by getKeys (live, read-only, emptied by clear)
+    @Test
+    public void testKeyView() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(8); // create a new hashtable
+        List<Object> keys = map.getKeys();
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        Assertions.assertEquals(List.of("a", "b", "c"), keys, "Keys should be listed in insertion order.");
+        map.remove("a"); // the last key moves into the position of the removed one
+        Assertions.assertEquals(List.of("c", "b"), keys, "The view should reflect removals.");
+        Assertions.assertEquals(2, map.get("b"), "Moving keys inside the view should not affect lookups.");
+        try {
+            keys.add("d"); // expected exception
+            Assertions.assertTrue(false, "UnsupportedOperationException expected when modifying the key view.");
+        } catch (UnsupportedOperationException e) {
+            System.out.println("Key view is read-only.");
+        }
+        map.clear();
+        Assertions.assertEquals(0, keys.size(), "Clearing the map should also clear its keys.");
+        map.put("a", 4);
+        Assertions.assertEquals(List.of("a"), keys, "Keys should be tracked again after clearing.");
+    }
+
+    // tester method for testing incremental resizing, where lookups must consult both tables until migration finishes
+    @Test
+    public void testIncrementalResizing() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(10, true); // create a new hashtable that resizes incrementally
+        for(int i = 0; i < 8; i++) {
+            map.put(i, "value" + i);
+        }
+        Assertions.assertEquals(20, map.getCapacity(), "Hashmap should have grown once the load factor was reached.");
+        Assertions.assertEquals(true, map.isRehashing(), "Pairs should not all be moved by the insert that triggered the resize.");
+        Assertions.assertEquals("value7", map.get(7), "Keys should be found while both tables are in use.");
+        Assertions.assertEquals("value0", map.remove(0), "Keys should be removable while both tables are in use.");
+        Assertions.assertEquals(false, map.putIfAbsent(5, "duplicate"), "Keys in unmoved buckets should still count as duplicates.");
+        map.containsKey(1); // each operation moves a few more buckets
+        Assertions.assertEquals(false, map.isRehashing(), "Migration should finish after enough operations.");
+        for(int i = 1; i < 8; i++) {
+            Assertions.assertEquals("value" + i, map.get(i), "Every key should survive the migration.");
+        }
+        Assertions.assertEquals(7, map.getSize(), "Expected size is seven after one removal.");
+    }
+
+    // tester method for testing that the dense pair array, which incremental mode grows a few pairs per insert,
+    // keeps every pair and its position through removals that swap pairs while the copy is in progress
+    @Test
+    public void testIncrementalEntryGrowth() {
+        HashtableMap<Integer, Integer> map = new HashtableMap<>(4, true); // create a new hashtable that resizes incrementally
+        for(int i = 0; i < 5000; i++) {
+            map.put(i, i);
+            if(i % 3 == 2) {
+                map.remove(i - 1); // swap the last pair into the middle of the array
+            }
+        }
+        Assertions.assertEquals(3334, map.getSize(), "Expected size is 3334 after removing every third key.");
+        List<Integer> keys = map.getKeys();
+        for(int position = 0; position < keys.size(); position++) {
+            int key = keys.get(position);
+            Assertions.assertEquals(true, key % 3 != 1 || key == 4999, "Removed keys should not be listed.");
+            Assertions.assertEquals(key, map.get(key), "Every listed key should be found.");
+        }
+        int[] visited = new int[1];
+        map.forEach((key, value) -> visited[0]++);
+        Assertions.assertEquals(3334, visited[0], "forEach should visit every pair once.");
+    }
+
+    // tester method for testing power-of-two tables with a mixing hash strategy, and that cached hashes
+    // spare resizes from calling hashCode() again
+    @Test
+    public void testHashStrategies() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(40, new PowerOfTwoHashStrategy());
+        Assertions.assertEquals(64, map.getCapacity(), "Capacity should be rounded up to a power of two.");
+        map.put(Integer.MIN_VALUE, "min"); // must map to a valid index
+        for(int i = 0; i < 100; i++) {
+            map.put("Building " + i, i); // similar keys must still be spread over the table
+        }
+        Assertions.assertEquals(128, map.getCapacity(), "Capacity should stay a power of two when doubling.");
+        Assertions.assertEquals("min", map.get(Integer.MIN_VALUE), "Expected value is 'min' for key Integer.MIN_VALUE.");
+        Assertions.assertEquals(42, map.get("Building 42"), "Expected value is 42 for key 'Building 42'.");
+        int[] hashCodeCalls = new int[1];
+        HashtableMap<Object, Integer> counted = new HashtableMap<>(4);
+        for(int i = 0; i < 20; i++) {
+            int value = i;
+            counted.put(new Object() {
+                @Override
+                public int hashCode() {
+                    hashCodeCalls[0]++;
+                    return value;
+                }
+            }, i);
+        }
+        Assertions.assertEquals(20, hashCodeCalls[0], "Each key should be hashed once, even though the table resized several times.");
+    }
+
+    // tester method for testing that a bucket of colliding keys is turned into a red-black tree, stays
+    // searchable through removals and resizes, and is turned back into a list once it shrinks
+    @Test
+    public void testTreeifiedBuckets() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(64); // create a new hashtable
+        List<String> colliding = new ArrayList<>();
+        for(int i = 0; i < 16; i++) { // "Aa" and "BB" share a hashCode, so every combination of them collides
+            StringBuilder key = new StringBuilder();
+            for(int bit = 0; bit < 4; bit++) {
+                key.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            colliding.add(key.toString());
+        }
+        int index = Math.floorMod(colliding.get(0).hashCode(), 64);
+        for(int i = 0; i < 16; i++) {
+            map.put(colliding.get(i), i);
+        }
+        Assertions.assertEquals(true, map.isTreeBucket(index), "A bucket past the threshold should be stored as a tree.");
+        for(int i = 0; i < 16; i++) {
+            Assertions.assertEquals(i, map.get(colliding.get(i)), "Every colliding key should be found in the tree.");
+        }
+        Assertions.assertEquals(false, map.putIfAbsent(colliding.get(3), -1), "Colliding keys should still count as duplicates.");
+        for(int i = 0; i < 10; i++) {
+            Assertions.assertEquals(i, map.remove(colliding.get(i)), "Colliding keys should be removable from the tree.");
+        }
+        Assertions.assertEquals(false, map.isTreeBucket(index), "A bucket that shrank should be stored as a list again.");
+        for(int i = 10; i < 16; i++) {
+            Assertions.assertEquals(i, map.get(colliding.get(i)), "Remaining keys should survive turning the tree back into a list.");
+        }
+        HashtableMap<Object, Integer> objects = new HashtableMap<>(4);
+        Object[] keys = new Object[40];
+        for(int i = 0; i < keys.length; i++) {
+            keys[i] = new Object() {
+                @Override
+                public int hashCode() {
+                    return 7; // keys that are not Comparable and all collide
+                }
+            };
+            objects.put(keys[i], i);
+        }
+        for(int i = 0; i < keys.length; i += 2) {
+            objects.remove(keys[i]);
+        }
+        for(int i = 0; i < keys.length; i++) {
+            Assertions.assertEquals(i % 2 == 1, objects.containsKey(keys[i]), "Non-Comparable colliding keys should be told apart by equals().");
+        }
+        Assertions.assertEquals(20, objects.getSize(), "Expected size is twenty after removing half of the keys.");
+    }
+
+    // tester method for testing bulk loading, which should size the table once for the whole batch
+    @Test
+    public void testBulkLoading() {
+        HashtableMap<Integer, String> map = new HashtableMap<>(4); // create a new hashtable
+        List<Integer> keys = new ArrayList<>();
+        List<String> values = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            keys.add(i);
+            values.add("value" + i);
+        }
+        map.putAll(keys, values, true);
+        Assertions.assertEquals(1251, map.getCapacity(), "The table should be sized for the whole batch in one rehash.");
+        Assertions.assertEquals(1000, map.getSize(), "Every pair of the batch should be stored.");
+        Assertions.assertEquals("value999", map.get(999), "Expected value is 'value999' for key 999.");
+        Assertions.assertEquals(List.of(0, 1, 2), map.getKeys().subList(0, 3), "Keys should be listed in batch order.");
+        map.ensureCapacity(500);
+        Assertions.assertEquals(1251, map.getCapacity(), "ensureCapacity should never shrink the table.");
+        try {
+            map.putAll(List.of(1000, 5), List.of("new", "duplicate"), false); // expected exception
+            Assertions.assertTrue(false, "IllegalArgumentException expected when a checked batch repeats a stored key.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Key already exists in hashmap.");
+        }
+        Assertions.assertEquals("new", map.get(1000), "Pairs before the duplicate should stay added.");
+        Assertions.assertEquals("value5", map.get(5), "The duplicate should leave the stored value unchanged.");
+    }
+
+    // tester method for testing the statistics snapshot and its JMX registration
+    @Test
+    public void testStats() throws Exception {
+        HashtableMap<Object, Object> map = new HashtableMap<>(10); // create a new hashtable
+        map.setStatsEnabled(true);
+        for(int i = 0; i < 20; i++) {
+            map.put(i, "value" + i);
+        }
+        map.get(3);
+        map.containsKey(4);
+        map.containsKey(50);
+        map.getOrDefault(60, "none");
+        HashtableStats stats = map.getStats();
+        Assertions.assertEquals(20, stats.getSize(), "Expected size is twenty.");
+        Assertions.assertEquals(40, stats.getCapacity(), "Expected capacity is forty after two resizes.");
+        Assertions.assertEquals(0.5, stats.getLoadFactor(), "Expected load factor is twenty pairs over forty buckets.");
+        Assertions.assertEquals(20, stats.getOccupiedBuckets(), "Consecutive integers should each get their own bucket.");
+        Assertions.assertEquals(1, stats.getMaxChainLength(), "No bucket should hold more than one pair.");
+        Assertions.assertEquals(2, stats.getResizeCount(), "The table should have doubled twice.");
+        Assertions.assertEquals(2, stats.getHitCount(), "Two lookups found their key.");
+        Assertions.assertEquals(2, stats.getMissCount(), "Two lookups missed their key.");
+        ObjectName name = map.registerMBean("testStats");
+        try {
+            CompositeData data = (CompositeData)
+                ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Stats");
+            Assertions.assertEquals(2L, data.get("hitCount"), "JMX clients should see the same counters.");
+        } finally {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+        }
+        map.setStatsEnabled(false);
+        map.get(3);
+        Assertions.assertEquals(0, map.getStats().getHitCount(), "Nothing should be counted while statistics are disabled.");
+    }
+
+    // tester method for testing forEach and the cursor, which should visit every pair exactly once
+    @Test
+    public void testEntryIteration() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(4); // create a new hashtable
+        for(int i = 0; i < 10; i++) {
+            map.put(i, i * i);
+        }
+        map.remove(3);
+        int[] sums = new int[2];
+        map.forEach((key, value) -> {
+            sums[0] += (Integer) key;
+            sums[1] += (Integer) value;
+        });
+        Assertions.assertEquals(42, sums[0], "forEach should pass every remaining key.");
+        Assertions.assertEquals(276, sums[1], "forEach should pass the value of every remaining key.");
+        MapCursor<Object, Object> cursor = map.cursor();
+        int visited = 0;
+        while(cursor.next()) {
+            Assertions.assertEquals((Integer) cursor.key() * (Integer) cursor.key(), cursor.value(), "The cursor should pair each key with its value.");
+            visited++;
+        }
+        Assertions.assertEquals(9, visited, "The cursor should visit every pair once.");
+        Assertions.assertEquals(false, cursor.next(), "An exhausted cursor should stay exhausted.");
+        try {
+            cursor.key(); // expected exception
+            Assertions.assertTrue(false, "IllegalStateException expected when reading an exhausted cursor.");
+        } catch (IllegalStateException e) {
+            System.out.println("Cursor is not on a pair.");
+        }
+    }
+
+    // tester method for testing that the table shrinks after removals, without thrashing near the threshold,
+    // and that clear and trimToSize give capacity back
+    @Test
+    public void testShrinking() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(10); // create a new hashtable
+        for(int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+        Assertions.assertEquals(160, map.getCapacity(), "Hashmap should have grown to hold 100 pairs.");
+        for(int i = 99; i >= 31; i--) {
+            map.remove(i);
+        }
+        Assertions.assertEquals(80, map.getCapacity(), "Hashmap should halve once its load factor drops below 0.2.");
+        map.put(99, "again");
+        map.remove(99);
+        map.put(99, "again");
+        map.remove(99);
+        Assertions.assertEquals(80, map.getCapacity(), "Inserting and removing near the threshold should not resize.");
+        for(int i = 0; i < 31; i++) {
+            Assertions.assertEquals("value" + i, map.get(i), "Every remaining key should survive shrinking.");
+        }
+        for(int i = 0; i < 31; i++) {
+            map.remove(i);
+        }
+        Assertions.assertEquals(10, map.getCapacity(), "Shrinking should stop at the capacity the map was created with.");
+        for(int i = 0; i < 100; i++) {
+            map.put(i, "value" + i);
+        }
+        map.clear();
+        Assertions.assertEquals(10, map.getCapacity(), "Clearing should return to the capacity the map was created with.");
+        HashtableMap<Object, Object> trimmed = new HashtableMap<>(64);
+        trimmed.put("a", 1);
+        trimmed.put("b", 2);
+        trimmed.trimToSize();
+        Assertions.assertEquals(3, trimmed.getCapacity(), "trimToSize should keep just enough buckets for the load factor.");
+        Assertions.assertEquals(2, trimmed.get("b"), "Keys should survive trimming.");
+    }
+
+    // tester method for testing that growing and shrinking a large table with ForkJoin tasks keeps every pair
+    @Test
+    public void testParallelRehash() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(64); // create a new hashtable
+        map.setParallelRehashThreshold(0);
+        HashtableMap<Object, Object> sequential = new HashtableMap<>(64);
+        for(int i = 0; i < 40000; i++) {
+            map.put("key" + i, i);
+            sequential.put("key" + i, i);
+        }
+        Assertions.assertEquals(sequential.getCapacity(), map.getCapacity(), "Parallel rehashing should grow to the same capacity.");
+        for(int i = 0; i < 40000; i++) {
+            Assertions.assertEquals(i, map.get("key" + i), "Every key should survive parallel rehashing.");
+        }
+        for(int i = 0; i < 35000; i++) {
+            map.remove("key" + i);
+        }
+        Assertions.assertEquals(5000, map.getSize(), "Expected size is 5000 after removals.");
+        for(int i = 35000; i < 40000; i++) {
+            Assertions.assertEquals(i, map.get("key" + i), "Every remaining key should survive parallel shrinking.");
+        }
+        try {
+            map.setParallelRehashThreshold(-1); // expected exception
+            Assertions.assertTrue(false, "IllegalArgumentException expected for a negative threshold.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Threshold must not be negative.");
+        }
+    }
+
+    // tester method for testing that the Bloom filter never hides a stored key, through growth, removals and
+    // clearing, and that it rules out nearly every missing key at the configured rate
+    @Test
+    public void testBloomFilter() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(16); // create a new hashtable
+        map.put("Building 0", 0);
+        map.enableBloomFilter(0.01);
+        Assertions.assertEquals(true, map.isBloomFilterEnabled(), "Bloom filter should be enabled.");
+        Assertions.assertEquals(0, map.get("Building 0"), "Keys stored before enabling the filter should be found.");
+        for(int i = 1; i < 1000; i++) {
+            map.put("Building " + i, i);
+        }
+        for(int i = 0; i < 1000; i++) {
+            Assertions.assertEquals(i, map.get("Building " + i), "Every key should be found through the filter.");
+        }
+        Assertions.assertEquals(false, map.putIfAbsent("Building 5", 5), "Stored keys should not be added twice.");
+        for(int i = 0; i < 900; i++) {
+            map.remove("Building " + i);
+        }
+        Assertions.assertEquals(false, map.containsKey("Building 5"), "Removed keys should not be found.");
+        Assertions.assertEquals(950, map.get("Building 950"), "Remaining keys should be found after shrinking.");
+        map.clear();
+        map.put("Library", 1);
+        Assertions.assertEquals(1, map.get("Library"), "Keys added after clearing should be found.");
+        map.disableBloomFilter();
+        Assertions.assertEquals(false, map.isBloomFilterEnabled(), "Bloom filter should be disabled.");
+        Assertions.assertEquals(1, map.get("Library"), "Keys should be found without the filter.");
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for(int i = 0; i < 10000; i++) {
+            filter.add(("Building " + i).hashCode());
+        }
+        int falsePositives = 0;
+        for(int i = 0; i < 100000; i++) {
+            if(filter.mightContain(("Street " + i).hashCode())) {
+                falsePositives++;
+            }
+        }
+        Assertions.assertEquals(true, falsePositives < 2000, "False positive rate should stay close to 1%.");
+        try {
+            map.enableBloomFilter(1.0); // expected exception
+            Assertions.assertTrue(false, "IllegalArgumentException expected for a false positive rate of 1.");
+        } catch (IllegalArgumentException e) {
+            System.out.println("False positive rate must be between 0 and 1.");
+        }
+    }
+
+    // tester method for testing that keys stay visible through the Bloom filter while an incremental resize
+    // fills the new filter bucket by bucket
+    @Test
+    public void testIncrementalBloomFilter() {
+        HashtableMap<Object, Object> map = new HashtableMap<>(16, true); // create a new incremental hashtable
+        map.enableBloomFilter(0.01);
+        int i = 0;
+        while(!map.isRehashing()) {
+            map.put("Building " + i, i); // fill the table until a resize starts
+            i++;
+        }
+        for(int j = 0; j < i; j++) {
+            Assertions.assertEquals(j, map.get("Building " + j), "Keys in buckets that have not moved yet should be found.");
+        }
+        Assertions.assertEquals(false, map.isRehashing(), "The lookups should have finished the resize.");
+        for(; i < 5000; i++) {
+            map.put("Building " + i, i);
+            Assertions.assertEquals(0, map.get("Building 0"), "The first key should be found during every resize.");
+            Assertions.assertEquals(false, map.putIfAbsent("Building " + (i / 2), i), "Stored keys should not be added twice.");
+        }
+        for(int j = 0; j < 5000; j++) {
+            Assertions.assertEquals(j, map.get("Building " + j), "Every key should be found through the filter.");
+        }
+        Assertions.assertEquals(null, map.getOrDefault("Street 1", null), "Missing keys should not be found.");
+    }
+
+}
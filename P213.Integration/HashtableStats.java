@@ -0,0 +1,94 @@
+/**
+ * An immutable snapshot of the statistics of a HashtableMap, as returned by
+ * HashtableMap.getStats(). The structural figures (load, occupancy and chain
+ * lengths) are measured when the snapshot is taken; the counters (resizes,
+ * hits and misses) are only collected while statistics are enabled on the map.
+ */
+public class HashtableStats {
+
+    private final int size;
+    private final int capacity;
+    private final int occupiedBuckets;
+    private final int treeBuckets;
+    private final int maxChainLength;
+    private final long resizeCount;
+    private final long resizeTimeNanos;
+    private final long hitCount;
+    private final long missCount;
+
+    public HashtableStats(int size, int capacity, int occupiedBuckets, int treeBuckets, int maxChainLength,
+                          long resizeCount, long resizeTimeNanos, long hitCount, long missCount) {
+        this.size = size;
+        this.capacity = capacity;
+        this.occupiedBuckets = occupiedBuckets;
+        this.treeBuckets = treeBuckets;
+        this.maxChainLength = maxChainLength;
+        this.resizeCount = resizeCount;
+        this.resizeTimeNanos = resizeTimeNanos;
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+    }
+
+    // number of pairs stored
+    public int getSize() {
+        return size;
+    }
+
+    // number of buckets in the table
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // pairs per bucket
+    public double getLoadFactor() {
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+
+    // number of buckets holding at least one pair
+    public int getOccupiedBuckets() {
+        return occupiedBuckets;
+    }
+
+    // number of buckets that were turned into red-black trees
+    public int getTreeBuckets() {
+        return treeBuckets;
+    }
+
+    // most pairs held by one bucket
+    public int getMaxChainLength() {
+        return maxChainLength;
+    }
+
+    // mean number of pairs in an occupied bucket, which is what a successful lookup has to search
+    public double getAverageChainLength() {
+        return occupiedBuckets == 0 ? 0 : (double) size / occupiedBuckets;
+    }
+
+    // number of times the table grew
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    // total time spent rehashing, in nanoseconds
+    public long getResizeTimeNanos() {
+        return resizeTimeNanos;
+    }
+
+    // number of lookups that found their key
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    // number of lookups that did not find their key
+    public long getMissCount() {
+        return missCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d capacity=%d load=%.2f occupied=%d trees=%d maxChain=%d avgChain=%.2f "
+                + "resizes=%d resizeNanos=%d hits=%d misses=%d", size, capacity, getLoadFactor(), occupiedBuckets,
+                treeBuckets, maxChainLength, getAverageChainLength(), resizeCount, resizeTimeNanos, hitCount, missCount);
+    }
+
+}
@@ -0,0 +1,133 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class is a binary min-heap of (int id, double priority) pairs that
+ * never boxes either of them. Ids and priorities are stored in parallel arrays
+ * (int[] and double[]) that double in size when full. The same id can be added
+ * more than once; shortest path searches add a node again whenever its cost
+ * improves, and skip the entries that are out of date when they come out.
+ */
+public class IntDoubleHeap {
+
+    private int[] ids = null;
+    private double[] priorities = null;
+    private int size = 0;
+
+    // single argument constructor that initializes a heap with given capacity
+    public IntDoubleHeap(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive"); // check that at least one slot exists
+        }
+        this.ids = new int[capacity];
+        this.priorities = new double[capacity];
+    }
+
+    // default constructor that initializes a heap with default capacity of 16
+    public IntDoubleHeap() {
+        this(16);
+    }
+
+  /**
+   * Adds an id with the provided priority, sifting it up past every entry with a higher priority
+   * @param id an int, priority a double
+   * @return None
+   */
+    public void add(int id, double priority) {
+        if(this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+            this.priorities = Arrays.copyOf(this.priorities, this.size * 2);
+        }
+        int hole = this.size++;
+        while(hole > 0 && this.priorities[(hole - 1) / 2] > priority) {
+            this.ids[hole] = this.ids[(hole - 1) / 2]; // move the parent down into the hole
+            this.priorities[hole] = this.priorities[(hole - 1) / 2];
+            hole = (hole - 1) / 2;
+        }
+        this.ids[hole] = id;
+        this.priorities[hole] = priority;
+    }
+
+  /**
+   * Returns the id with the lowest priority
+   * @param None
+   * @throws NoSuchElementException if the heap is empty
+   * @return id, an int
+   */
+    public int peekId() throws NoSuchElementException {
+        if(this.size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return this.ids[0];
+    }
+
+  /**
+   * Returns the lowest priority in the heap
+   * @param None
+   * @throws NoSuchElementException if the heap is empty
+   * @return priority, a double
+   */
+    public double peekPriority() throws NoSuchElementException {
+        if(this.size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        return this.priorities[0];
+    }
+
+  /**
+   * Removes the entry with the lowest priority, moving the last entry to the root and sifting it down
+   * @param None
+   * @throws NoSuchElementException if the heap is empty
+   * @return None
+   */
+    public void removeMin() throws NoSuchElementException {
+        if(this.size == 0) {
+            throw new NoSuchElementException("heap is empty");
+        }
+        this.size--;
+        int movedId = this.ids[this.size];
+        double moved = this.priorities[this.size];
+        int hole = 0;
+        for(int child = 1; child < this.size; child = 2 * hole + 1) {
+            if(child + 1 < this.size && this.priorities[child + 1] < this.priorities[child]) {
+                child++; // sift toward the smaller child
+            }
+            if(this.priorities[child] >= moved) {
+                break;
+            }
+            this.ids[hole] = this.ids[child];
+            this.priorities[hole] = this.priorities[child];
+            hole = child;
+        }
+        this.ids[hole] = movedId;
+        this.priorities[hole] = moved;
+    }
+
+  /**
+   * Checks whether the heap holds no entries
+   * @param None
+   * @return true if the heap is empty, false otherwise
+   */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+  /**
+   * Returns the number of entries in the heap
+   * @param None
+   * @return size, an int
+   */
+    public int getSize() {
+        return this.size;
+    }
+
+  /**
+   * Removes every entry, keeping the arrays for reuse
+   * @param None
+   * @return None
+   */
+    public void clear() {
+        this.size = 0;
+    }
+
+}
@@ -1,5 +1,6 @@
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 
 /**
  * This abstract data type represents a collection that maps keys to values,
@@ -42,6 +43,60 @@ public interface MapADT<KeyType, ValueType> {
      */
     public ValueType remove(KeyType key) throws NoSuchElementException;
 
+    /**
+     * Retrieves the value that a key maps to, or a fallback when the key is
+     * not stored, looking the key up only once.
+     * @param key the key to look up
+     * @param defaultValue the value to return when key is not stored in this
+     *        collection
+     * @return the value that key maps to, or defaultValue
+     * @throws NullPointerException if key is null
+     */
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue);
+
+    /**
+     * Removes the mapping for a key if there is one, looking the key up only
+     * once.
+     * @param key the key whose mapping to remove
+     * @return the value that the removed key mapped to, or null when key is
+     *         not stored in this collection
+     * @throws NullPointerException if key is null
+     */
+    public ValueType removeIfPresent(KeyType key);
+
+    /**
+     * Adds a new key,value pair/mapping only when the key is not stored yet,
+     * looking the key up only once.
+     * @param key the key of the key,value pair
+     * @param value the value that key maps to
+     * @return true if the pair was added, or false if key already maps to a
+     *         value (which is left unchanged)
+     * @throws NullPointerException if key is null
+     */
+    public boolean putIfAbsent(KeyType key, ValueType value);
+
+    /**
+     * Prepares this collection to hold at least expectedSize keys, so that
+     * adding keys up to that number does not resize it again.
+     * @param expectedSize the number of keys this collection will hold
+     */
+    public void ensureCapacity(int expectedSize);
+
+    /**
+     * Adds a batch of key,value pairs/mappings, sizing this collection for the
+     * whole batch before the first one is added.
+     * @param keys the keys of the pairs
+     * @param values the values that the keys map to, in the same order
+     * @param assumeUnique true when the caller guarantees that no key is
+     *        repeated in keys or already stored, so keys are not checked for
+     *        duplicates before they are added
+     * @throws IllegalArgumentException if keys and values differ in length,
+     *         or if assumeUnique is false and a key already maps to a value
+     *         (the pairs before it stay added)
+     * @throws NullPointerException if any key is null
+     */
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique);
+
     /**
      * Removes all key,value pairs from this collection.
      */
@@ -65,5 +120,19 @@ public interface MapADT<KeyType, ValueType> {
      */
     public List<KeyType> getKeys();
 
+    /**
+     * Passes every key,value pair of this collection to an action, without
+     * building a list of keys or looking any key up.
+     * @param action the action to call with each key and the value it maps to
+     */
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action);
+
+    /**
+     * Creates a cursor that walks every key,value pair of this collection,
+     * without looking any key up or allocating an object per pair.
+     * @return a cursor positioned before the first pair
+     */
+    public MapCursor<KeyType, ValueType> cursor();
+
 }
 
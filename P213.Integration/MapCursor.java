@@ -0,0 +1,29 @@
+/**
+ * A MapCursor walks the key,value pairs of a MapADT one pair at a time,
+ * without allocating an object per pair: next() moves the cursor onto the
+ * following pair, which is then read through key() and value(). The map must
+ * not be modified while a cursor walks it.
+ */
+public interface MapCursor<KeyType, ValueType> {
+
+    /**
+     * Moves the cursor onto the next pair.
+     * @return true if the cursor is on a pair, false once every pair has been visited
+     */
+    public boolean next();
+
+    /**
+     * Retrieves the key of the pair the cursor is on.
+     * @return the key of the current pair
+     * @throws IllegalStateException if next() has not returned true
+     */
+    public KeyType key();
+
+    /**
+     * Retrieves the value of the pair the cursor is on.
+     * @return the value of the current pair
+     * @throws IllegalStateException if next() has not returned true
+     */
+    public ValueType value();
+
+}
@@ -0,0 +1,354 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements a read-only MapADT directly on top of a snapshot file
+ * that was written by HashtableMap.writeSnapshot. The file is mapped into
+ * memory through a FileChannel, and lookups probe the mapped slot directory
+ * and compare encoded key bytes in place, so opening a snapshot costs nothing
+ * up front and pages of the file are only read when a lookup touches them.
+ * Only the value that a lookup returns is decoded.
+ *
+ * A snapshot file holds, in order:
+ *   a header of four ints: MAGIC, VERSION, the number of keys, the number of slots
+ *   a slot directory: for each slot, the hash of its key and the file offset of
+ *     its record (0 for an empty slot), placed by linear probing
+ *   the records: for each key, its encoded length and bytes, then the encoded
+ *     length (-1 for null) and bytes of its value
+ */
+public class MappedHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    protected static final int MAGIC = 0x48544D31; // "HTM1"
+    protected static final int VERSION = 1;
+    protected static final int HEADER_BYTES = 16;
+    protected static final int SLOT_BYTES = 8;
+
+    protected final ByteBuffer buffer;
+    private final int size;
+    private final int slotCount; // a power of two, at least twice the number of keys
+    private final SnapshotCodec<KeyType> keyCodec;
+    private final SnapshotCodec<ValueType> valueCodec;
+
+    // private constructor that checks the header of a mapped snapshot, use open() to create a map
+    private MappedHashtableMap(ByteBuffer buffer, SnapshotCodec<KeyType> keyCodec, SnapshotCodec<ValueType> valueCodec) throws IOException {
+        if(buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("not a hashtable snapshot"); // check the header before trusting any offsets
+        }
+        this.buffer = buffer;
+        this.size = buffer.getInt(8);
+        this.slotCount = buffer.getInt(12);
+        if(size < 0 || Integer.bitCount(slotCount) != 1 || HEADER_BYTES + (long)slotCount * SLOT_BYTES > buffer.capacity()) {
+            throw new IOException("corrupt hashtable snapshot"); // the directory must fit inside the file
+        }
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+  /**
+   * Maps a snapshot file into memory as a read-only map. The channel is closed right away, since
+   * the mapping stays valid without it
+   * @param path the snapshot file, keyCodec and valueCodec the codecs the snapshot was written with
+   * @throws IOException if the file cannot be read or is not a snapshot
+   * @return the mapped map, a MappedHashtableMap
+   */
+    public static <KeyType, ValueType> MappedHashtableMap<KeyType, ValueType> open(Path path,
+            SnapshotCodec<KeyType> keyCodec, SnapshotCodec<ValueType> valueCodec) throws IOException {
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedHashtableMap<>(mapped, keyCodec, valueCodec);
+        }
+    }
+
+  /**
+   * Writes the given keys and values to a snapshot file, replacing the file if it exists
+   * @param path the snapshot file, keys a List of unique KeyType, values a List of ValueType in the
+   *        same order, keyCodec and valueCodec the codecs to encode them with
+   * @throws IOException if the file cannot be written, or the snapshot would exceed 2GB
+   * @return None
+   */
+    public static <KeyType, ValueType> void write(Path path, List<KeyType> keys, List<ValueType> values,
+            SnapshotCodec<KeyType> keyCodec, SnapshotCodec<ValueType> valueCodec) throws IOException {
+        int count = keys.size();
+        int slotCount = Integer.highestOneBit(Math.max(count * 2 - 1, 1)) << 1; // keep the directory at most half full
+        byte[][] encodedKeys = new byte[count][];
+        byte[][] encodedValues = new byte[count][];
+        long total = HEADER_BYTES + (long)slotCount * SLOT_BYTES;
+        Iterator<ValueType> valueIterator = values.iterator();
+        int i = 0;
+        for(KeyType key : keys) {
+            ValueType value = valueIterator.next();
+            encodedKeys[i] = keyCodec.encode(key);
+            encodedValues[i] = value == null ? null : valueCodec.encode(value);
+            total += 8 + encodedKeys[i].length + (value == null ? 0 : encodedValues[i].length);
+            i++;
+        }
+        if(total > Integer.MAX_VALUE) {
+            throw new IOException("snapshot would exceed 2GB"); // a single mapped buffer is limited to int offsets
+        }
+        ByteBuffer out = ByteBuffer.allocate((int) total);
+        out.putInt(MAGIC).putInt(VERSION).putInt(count).putInt(slotCount);
+        int recordOffset = HEADER_BYTES + slotCount * SLOT_BYTES;
+        out.position(recordOffset);
+        for(i = 0; i < count; i++) {
+            int hash = hashBytes(encodedKeys[i]);
+            int slot = hash & (slotCount - 1);
+            while(out.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4) != 0) {
+                slot = (slot + 1) & (slotCount - 1); // linear probing to the next free slot
+            }
+            out.putInt(HEADER_BYTES + slot * SLOT_BYTES, hash);
+            out.putInt(HEADER_BYTES + slot * SLOT_BYTES + 4, out.position());
+            out.putInt(encodedKeys[i].length).put(encodedKeys[i]);
+            if(encodedValues[i] == null) {
+                out.putInt(-1);
+            } else {
+                out.putInt(encodedValues[i].length).put(encodedValues[i]);
+            }
+        }
+        out.flip();
+        try(FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while(out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    @Override
+    public void put(KeyType key, ValueType value) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public ValueType remove(KeyType key) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("a mapped snapshot is read-only");
+    }
+
+  /**
+   * Checks whether the given key is stored in the snapshot, without decoding anything
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the snapshot contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findRecord(key) != 0;
+    }
+
+  /**
+   * Finds the key in the mapped slot directory and decodes the value stored with it
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in the snapshot
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        int record = findRecord(key);
+        if(record == 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return decodeValue(record);
+    }
+
+  /**
+   * Finds the key in the mapped slot directory and decodes the value stored with it, or returns the
+   * given default when the key does not exist, without throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        int record = findRecord(key);
+        return record == 0 ? defaultValue : decodeValue(record);
+    }
+
+  /**
+   * Returns the number of keys in the snapshot
+   * @param None
+   * @return snapshot's size, an int
+   */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+  /**
+   * Returns the number of slots in the snapshot's directory
+   * @param None
+   * @return number of slots, an int
+   */
+    @Override
+    public int getCapacity() {
+        return slotCount;
+    }
+
+  /**
+   * Decodes every key of the snapshot into a new list, in slot order
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    public List<KeyType> getKeys() {
+        List<KeyType> keys = new ArrayList<>(size);
+        for(int slot = 0; slot < slotCount; slot++) {
+            int record = buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4);
+            if(record != 0) {
+                keys.add(keyCodec.decode(buffer, record + 4, buffer.getInt(record)));
+            }
+        }
+        return keys;
+    }
+
+  /**
+   * Decodes every pair of the snapshot and passes it to the given action, in slot order
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        MapCursor<KeyType, ValueType> cursor = cursor();
+        while(cursor.next()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
+
+  /**
+   * Returns a cursor over the slot directory, which only decodes a key or value when it is read
+   * @param None
+   * @return a new cursor positioned before the first pair, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new MapCursor<KeyType, ValueType>() {
+            private int slot = -1;
+            private int record = 0;
+
+            @Override
+            public boolean next() {
+                record = 0;
+                while(record == 0 && slot + 1 < slotCount) {
+                    slot++;
+                    record = buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4);
+                }
+                if(record == 0) {
+                    slot = slotCount; // every slot has been visited
+                }
+                return record != 0;
+            }
+
+            @Override
+            public KeyType key() {
+                return keyCodec.decode(buffer, current() + 4, buffer.getInt(record));
+            }
+
+            @Override
+            public ValueType value() {
+                return decodeValue(current());
+            }
+
+            private int current() {
+                if(record == 0) {
+                    throw new IllegalStateException("cursor is not on a pair");
+                }
+                return record;
+            }
+        };
+    }
+
+  /**
+   * Private helper method that probes the slot directory for the record of a key, comparing the
+   * encoded key with the mapped key bytes in place
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the file offset of the key's record, or 0 if the key is not stored
+   */
+    private int findRecord(KeyType key) {
+        if(key == null) {
+            throw new NullPointerException("key is null"); // check if key is null
+        }
+        byte[] encoded = keyCodec.encode(key);
+        int hash = hashBytes(encoded);
+        int slot = hash & (slotCount - 1);
+        while(true) {
+            int record = buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES + 4);
+            if(record == 0) {
+                return 0; // an empty slot ends the probe sequence
+            }
+            if(buffer.getInt(HEADER_BYTES + slot * SLOT_BYTES) == hash && sameBytes(record, encoded)) {
+                return record;
+            }
+            slot = (slot + 1) & (slotCount - 1); // linear probing to the next slot
+        }
+    }
+
+    private boolean sameBytes(int record, byte[] encoded) {
+        if(buffer.getInt(record) != encoded.length) {
+            return false;
+        }
+        for(int i = 0; i < encoded.length; i++) {
+            if(buffer.get(record + 4 + i) != encoded[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ValueType decodeValue(int record) {
+        int valueAt = record + 4 + buffer.getInt(record);
+        int length = buffer.getInt(valueAt);
+        return length < 0 ? null : valueCodec.decode(buffer, valueAt + 4, length);
+    }
+
+  /**
+   * Private helper method that hashes encoded key bytes (FNV-1a followed by a final mix), so the
+   * directory does not depend on hashCode() staying the same between runs
+   * @param bytes the encoded key
+   * @return the hash, an int
+   */
+    private static int hashBytes(byte[] bytes) {
+        int h = 0x811C9DC5;
+        for(byte b : bytes) {
+            h = (h ^ (b & 0xFF)) * 0x01000193;
+        }
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+}
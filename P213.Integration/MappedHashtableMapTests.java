@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class MappedHashtableMapTests {
+
+    /**
+     * Tests that a snapshot written by HashtableMap answers get, containsKey and getOrDefault once mapped back
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        HashtableMap<String, String> map = new HashtableMap<>();
+        for(int i = 0; i < 500; i++) {
+            map.put("Building " + i, "Street " + (i * 7));
+        }
+        map.put("Union South", null); // null values are allowed
+        map.put("M\u00e9morial Union", "Langdon St"); // keys are compared as UTF-8 bytes
+        Path file = Files.createTempFile("locations", ".snapshot");
+        try {
+            map.writeSnapshot(file, new StringSnapshotCodec(), new StringSnapshotCodec());
+            MappedHashtableMap<String, String> mapped = MappedHashtableMap.open(file, new StringSnapshotCodec(), new StringSnapshotCodec());
+            Assertions.assertEquals(502, mapped.getSize(), "The snapshot should hold every key.");
+            Assertions.assertEquals("Street 2793", mapped.get("Building 399"), "Expected value is 'Street 2793' for key 'Building 399'.");
+            Assertions.assertEquals("Langdon St", mapped.get("M\u00e9morial Union"), "Non-ASCII keys should be found.");
+            Assertions.assertEquals(true, mapped.containsKey("Union South"), "A key with a null value should be stored.");
+            Assertions.assertEquals(null, mapped.get("Union South"), "A null value should be read back as null.");
+            Assertions.assertEquals(false, mapped.containsKey("Building 500"), "A missing key should not be found.");
+            Assertions.assertEquals("none", mapped.getOrDefault("Building 500", "none"), "A missing key should return the default value.");
+            Assertions.assertThrows(NoSuchElementException.class, () -> mapped.get("Building 500"));
+            Assertions.assertEquals(new HashSet<>(map.getKeys()), new HashSet<>(mapped.getKeys()), "getKeys should list every stored key.");
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    /**
+     * Tests that a mapped snapshot rejects every modification, and that files which are not snapshots are refused
+     */
+    @Test
+    public void testReadOnlyAndInvalidFiles() throws IOException {
+        HashtableMap<String, String> map = new HashtableMap<>();
+        map.put("a", "1");
+        Path file = Files.createTempFile("locations", ".snapshot");
+        try {
+            map.writeSnapshot(file, new StringSnapshotCodec(), new StringSnapshotCodec());
+            MappedHashtableMap<String, String> mapped = MappedHashtableMap.open(file, new StringSnapshotCodec(), new StringSnapshotCodec());
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> mapped.put("b", "2"));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> mapped.remove("a"));
+            Assertions.assertThrows(UnsupportedOperationException.class, () -> mapped.putAll(List.of("b"), List.of("2"), true));
+            Assertions.assertThrows(NullPointerException.class, () -> mapped.get(null));
+            Files.writeString(file, "digraph campus {}");
+            Assertions.assertThrows(IOException.class, () -> MappedHashtableMap.open(file, new StringSnapshotCodec(), new StringSnapshotCodec()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+}
@@ -0,0 +1,23 @@
+/**
+ * The original hashing scheme of HashtableMap: the key's hashCode() is used
+ * as is and reduced with a modulo, so any table length works. The modulo is
+ * taken with Math.floorMod, which always yields a valid index.
+ */
+public class ModuloHashStrategy implements HashStrategy {
+
+    @Override
+    public int hash(Object key) {
+        return key.hashCode();
+    }
+
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return Math.floorMod(hash, capacity);
+    }
+
+    @Override
+    public int tableSizeFor(int capacity) {
+        return capacity;
+    }
+
+}
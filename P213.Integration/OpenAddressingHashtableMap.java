@@ -0,0 +1,392 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements MapADT with open addressing: keys and values are stored
+ * directly in two parallel arrays instead of in per-index lists of pairs, and
+ * collisions are resolved by linear probing. Removed entries leave a tombstone
+ * behind so that later probes can continue past them.
+ */
+public class OpenAddressingHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    // marks a slot whose entry was removed, so that probe sequences are not cut short
+    private static final Object TOMBSTONE = new Object();
+
+    protected Object[] keys = null;
+    protected Object[] values = null;
+    private int size = 0;
+    private int tombstones = 0;
+    // how keys are hashed and hashes are turned into home indexes
+    protected final HashStrategy hashStrategy;
+
+    // two argument constructor that initializes a hashmap with given capacity (rounded as hashStrategy
+    // requires), which hashes keys with the given strategy
+    public OpenAddressingHashtableMap(int capacity, HashStrategy hashStrategy) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive"); // check that at least one slot exists
+        }
+        this.hashStrategy = hashStrategy;
+        this.keys = new Object[hashStrategy.tableSizeFor(capacity)];
+        this.values = new Object[this.keys.length];
+    }
+
+    // single argument constructor that initializes a hashmap with given capacity
+    public OpenAddressingHashtableMap(int capacity) {
+        this(capacity, new ModuloHashStrategy());
+    }
+
+    // default constructor that initializes a hashmap with default capacity of 64
+    public OpenAddressingHashtableMap() {
+        this(64);
+    }
+
+  /**
+   * Inserts the provided key and value at the first free slot along the key's probe sequence
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the hashmap already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if(!this.putIfAbsent(key, value)) {
+            throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
+        }
+    }
+
+  /**
+   * Inserts the provided key and value unless the key is already stored, walking the key's probe
+   * sequence only once and reusing the first tombstone passed on the way if there is one
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the entry was inserted, false if the hashmap already contains this key
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        if(key == null) {
+            throw new NullPointerException("key is null"); // check if key is null
+        }
+        int id = hashStrategy.indexFor(hashStrategy.hash(key), this.keys.length); // use the hash to get the home index
+        int firstTombstone = -1;
+        while(this.keys[id] != null) {
+            if(this.keys[id] == TOMBSTONE) {
+                if(firstTombstone < 0) {
+                    firstTombstone = id; // remember where the key can be placed, but keep looking for a duplicate
+                }
+            } else if(this.keys[id].equals(key)) {
+                return false; // key already exists, leave its entry unchanged
+            }
+            id = (id + 1) % this.keys.length; // linear probing to the next slot
+        }
+        if(firstTombstone >= 0) {
+            id = firstTombstone;
+            tombstones--; // the tombstone is being reused by this entry
+        }
+        this.keys[id] = key;
+        this.values[id] = value;
+        size++; // increment size
+        if((double)(size + tombstones) / this.keys.length >= 0.7) {
+            resizeHelper(); // check the load factor (tombstones included) and if necessary, rehash
+        }
+        return true;
+    }
+
+  /**
+   * Checks whether the given key is stored in the hashmap
+   * @param key a KeyType
+   * @return true if the hashmap contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findSlot(key) >= 0;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        int id = findSlot(key);
+        if(id < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return (ValueType) this.values[id];
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given
+   * default when the key does not exist, without throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        int id = findSlot(key);
+        return id < 0 ? defaultValue : (ValueType) this.values[id];
+    }
+
+  /**
+   * Finds and removes the entry with the key provided as an argument, leaving a tombstone
+   * in its slot, and returns a reference to the value of the entry
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the removed key, a ValueType object
+   */
+    @Override
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        int id = findSlot(key);
+        if(id < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return removeSlot(id); // return a reference to the removed value
+    }
+
+  /**
+   * Removes the entry with the key provided as an argument if it exists, without throwing
+   * @param key a KeyType
+   * @return the value stored at the removed key, or null if the key does not exist in hashmap
+   */
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        int id = findSlot(key);
+        return id < 0 ? null : removeSlot(id);
+    }
+
+  /**
+   * Rehashes the hashtable once so that it can hold expectedSize entries without reaching the load factor
+   * @param expectedSize the number of entries the hashtable will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if((double)expectedSize / this.keys.length >= 0.7) {
+            rehash(hashStrategy.tableSizeFor((int)(expectedSize / 0.7) + 1));
+        }
+    }
+
+  /**
+   * Inserts a batch of entries after sizing the hashtable for all of them. When the keys are known
+   * to be unique, each entry takes the first free slot of its probe sequence without looking further
+   * for a duplicate
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique
+   *        true if no key is repeated or already stored
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is
+   *         false and the hashmap already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        ensureCapacity(size + tombstones + keys.size());
+        Iterator<ValueType> valueIterator = values.iterator();
+        for(KeyType key : keys) {
+            if(!assumeUnique) {
+                this.put(key, valueIterator.next());
+                continue;
+            }
+            if(key == null) {
+                throw new NullPointerException("key is null"); // check if key is null
+            }
+            int id = hashStrategy.indexFor(hashStrategy.hash(key), this.keys.length);
+            while(this.keys[id] != null && this.keys[id] != TOMBSTONE) {
+                id = (id + 1) % this.keys.length; // linear probing to the first free slot
+            }
+            if(this.keys[id] == TOMBSTONE) {
+                tombstones--; // the tombstone is being reused by this entry
+            }
+            this.keys[id] = key;
+            this.values[id] = valueIterator.next();
+            size++; // increment size
+        }
+    }
+
+  /**
+   * Empties every slot of the hashtable (clears table)
+   * @param None
+   * @return None
+   */
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.values, null);
+        size = 0; // reset size
+        tombstones = 0;
+    }
+
+  /**
+   * Returns size of this hashtable
+   * @param None
+   * @return hashtable's size, an int
+   */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+  /**
+   * Returns capacity of this hashtable
+   * @param None
+   * @return number of slots in the hashtable, an int
+   */
+    @Override
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+  /**
+   * Returns a new list with every key currently stored in the hashtable, in slot order
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<KeyType> getKeys() {
+        List<KeyType> list = new ArrayList<>(size);
+        for(Object key : this.keys) {
+            if(key != null && key != TOMBSTONE) {
+                list.add((KeyType) key);
+            }
+        }
+        return list;
+    }
+
+  /**
+   * Passes every entry to the given action, in slot order
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(int i = 0; i < this.keys.length; i++) {
+            if(this.keys[i] != null && this.keys[i] != TOMBSTONE) {
+                action.accept((KeyType) this.keys[i], (ValueType) this.values[i]);
+            }
+        }
+    }
+
+  /**
+   * Returns a cursor over every entry, in slot order
+   * @param None
+   * @return a new cursor positioned before the first entry, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new SlotCursor();
+    }
+
+    // cursor over the slots, which only keeps the index of the current slot
+    private class SlotCursor implements MapCursor<KeyType, ValueType> {
+
+        private int slot = -1;
+
+        @Override
+        public boolean next() {
+            int i = slot + 1;
+            while(i < keys.length && !(keys[i] != null && keys[i] != TOMBSTONE)) {
+                i++; // skip empty slots
+            }
+            slot = Math.min(i, keys.length);
+            return slot < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KeyType key() {
+            return (KeyType) keys[current()];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueType value() {
+            return (ValueType) values[current()];
+        }
+
+        private int current() {
+            if(slot < 0 || slot >= keys.length) {
+                throw new IllegalStateException("cursor is not on an entry");
+            }
+            return slot;
+        }
+
+    }
+
+  /**
+   * Private helper method that walks the probe sequence of a key
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the slot holding the key, or -1 if the key is not stored
+   */
+    private int findSlot(KeyType key) {
+        int id = hashStrategy.indexFor(hashStrategy.hash(key), this.keys.length); // use the hash to get the home index
+        while(this.keys[id] != null) {
+            if(this.keys[id] != TOMBSTONE && this.keys[id].equals(key)) {
+                return id; // key found along its probe sequence
+            }
+            id = (id + 1) % this.keys.length; // linear probing to the next slot
+        }
+        return -1; // an empty slot ends the probe sequence, so the key is not stored
+    }
+
+  /**
+   * Private helper method that replaces the entry in a slot with a tombstone
+   * @param id the slot of the entry to remove, an int
+   * @return the value of the removed entry, a ValueType object
+   */
+    @SuppressWarnings("unchecked")
+    private ValueType removeSlot(int id) {
+        ValueType val = (ValueType) this.values[id];
+        this.keys[id] = TOMBSTONE; // keep later entries of this probe sequence reachable
+        this.values[id] = null;
+        size--; // decrement size after removal
+        tombstones++;
+        return val;
+    }
+
+  /**
+   * Private helper method to handle rehashing of the hashtable when too few empty slots remain.
+   * The table doubles when live entries fill it; when most of the pressure comes from tombstones
+   * it is rehashed at the same capacity, which drops them
+   * @param None
+   * @return None
+   */
+    private void resizeHelper() {
+        rehash((double)size / this.keys.length > 0.5 ? this.keys.length * 2 : this.keys.length);
+    }
+
+  /**
+   * Private helper method that moves every entry into new arrays of the given length, dropping tombstones
+   * @param newCapacity the length of the new arrays
+   * @return None
+   */
+    private void rehash(int newCapacity) {
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        this.keys = new Object[newCapacity];
+        this.values = new Object[newCapacity];
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != null && oldKeys[i] != TOMBSTONE) {
+                int id = hashStrategy.indexFor(hashStrategy.hash(oldKeys[i]), newCapacity); // use the hash to get the NEW home index
+                while(this.keys[id] != null) {
+                    id = (id + 1) % newCapacity; // keys are unique here, so only an empty slot is needed
+                }
+                this.keys[id] = oldKeys[i];
+                this.values[id] = oldValues[i];
+            }
+        }
+        tombstones = 0;
+    }
+
+}
@@ -0,0 +1,107 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.io.IOException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class OpenAddressingHashtableMapTests {
+
+    /**
+     * Tests put, get, containsKey, remove and clear on a small map, including growth past the load factor
+     */
+    @Test
+    public void testBasicFunctionality() {
+        OpenAddressingHashtableMap<Integer, String> map = new OpenAddressingHashtableMap<>(4);
+        map.put(0, "first");
+        map.put(4, "second"); // collides with key 0 and has to probe
+        Assertions.assertEquals(4, map.getCapacity(), "Capacity should not change below the load factor.");
+        map.put(8, "third");
+        Assertions.assertEquals(8, map.getCapacity(), "Map should double once the load factor is reached.");
+        Assertions.assertEquals(true, map.containsKey(8), "Key 8 is expected to exist in the map.");
+        Assertions.assertEquals("second", map.get(4), "Expected value is 'second' for key 4.");
+        Assertions.assertEquals("first", map.remove(0), "Removing key 0 should return 'first'.");
+        Assertions.assertEquals(false, map.containsKey(0), "Key 0 should be gone after removal.");
+        Assertions.assertEquals(2, map.getSize(), "Expected size is two after removing an element.");
+        map.clear();
+        Assertions.assertEquals(0, map.getSize(), "Map should contain no elements after clearing.");
+        Assertions.assertEquals(false, map.containsKey(8), "Map should not find keys after clearing.");
+    }
+
+    /**
+     * Tests that removed slots keep later keys in the same probe sequence reachable, and that they are reused
+     */
+    @Test
+    public void testTombstones() {
+        OpenAddressingHashtableMap<Integer, String> map = new OpenAddressingHashtableMap<>(10);
+        map.put(1, "a");
+        map.put(11, "b"); // probes past key 1
+        map.put(21, "c"); // probes past keys 1 and 11
+        map.remove(11);
+        Assertions.assertEquals("c", map.get(21), "Key 21 should still be found past the removed slot.");
+        map.put(31, "d"); // reuses the tombstone left by key 11
+        Assertions.assertEquals("d", map.get(31), "Expected value is 'd' for key 31.");
+        Assertions.assertEquals(10, map.getCapacity(), "Reusing a tombstone should not grow the map.");
+        // churn through many inserts and removals without ever holding more than one key
+        for(int i = 100; i < 200; i++) {
+            map.put(i, "x");
+            map.remove(i);
+        }
+        Assertions.assertEquals(3, map.getSize(), "Only the three remaining keys should be stored.");
+        Assertions.assertEquals(10, map.getCapacity(), "Tombstone cleanup should rehash in place instead of growing.");
+        Assertions.assertEquals(true, map.getKeys().containsAll(List.of(1, 21, 31)), "getKeys should list every live key.");
+    }
+
+    /**
+     * Tests that exceptions match the ones thrown by HashtableMap for missing and duplicate keys
+     */
+    @Test
+    public void testExceptions() {
+        OpenAddressingHashtableMap<String, String> map = new OpenAddressingHashtableMap<>();
+        map.put("a", "1");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("a", "2"));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(null, "2"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get("b"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.remove("b"));
+        Assertions.assertEquals("1", map.get("a"), "A failed insert should not change the stored value.");
+    }
+
+    /**
+     * Tests the non-throwing operations, including that putIfAbsent reuses tombstones without creating duplicates
+     */
+    @Test
+    public void testSingleProbeOperations() {
+        OpenAddressingHashtableMap<Integer, String> map = new OpenAddressingHashtableMap<>(10);
+        map.put(1, "a");
+        map.put(11, "b");
+        map.remove(1); // leaves a tombstone in front of key 11
+        Assertions.assertEquals(false, map.putIfAbsent(11, "c"), "Key 11 is still stored past the tombstone.");
+        Assertions.assertEquals(true, map.putIfAbsent(1, "d"), "Key 1 was removed and can be inserted again.");
+        Assertions.assertEquals("b", map.getOrDefault(11, "none"), "Expected value is 'b' for key 11.");
+        Assertions.assertEquals("none", map.getOrDefault(21, "none"), "A missing key should return the default value.");
+        Assertions.assertEquals("d", map.removeIfPresent(1), "Removing key 1 should return 'd'.");
+        Assertions.assertEquals(null, map.removeIfPresent(1), "Removing a missing key should return null.");
+        Assertions.assertEquals(1, map.getSize(), "Only key 11 should remain.");
+    }
+
+    /**
+     * Tests that a DijkstraGraph backed by this map finds the same paths as one backed by HashtableMap
+     */
+    @Test
+    public void testDropInForDijkstraGraph() {
+        DijkstraGraph<String, Double> chained = new DijkstraGraph<>();
+        DijkstraGraph<String, Double> open = new DijkstraGraph<>(new OpenAddressingHashtableMap<>());
+        try {
+            new Backend(chained).loadGraphData("campus.dot");
+            new Backend(open).loadGraphData("campus.dot");
+        } catch (IOException e) {
+            Assertions.assertTrue(false, "Exception not expected here.");
+        }
+        Assertions.assertEquals(chained.getNodeCount(), open.getNodeCount(), "Both graphs should hold the same nodes.");
+        Assertions.assertEquals(chained.getEdgeCount(), open.getEdgeCount(), "Both graphs should hold the same edges.");
+        Assertions.assertEquals(chained.shortestPathData("Union South", "X01"), open.shortestPathData("Union South", "X01"),
+                                "Both graphs should find the same shortest path.");
+        Assertions.assertEquals(chained.shortestPathCost("Union South", "X01"), open.shortestPathCost("Union South", "X01"),
+                                "Both graphs should find the same shortest path cost.");
+    }
+
+}
@@ -0,0 +1,575 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements MapADT with a persistent hash array mapped trie: every
+ * version of the map is an immutable tree of nodes with up to 32 children each,
+ * picked by successive 5-bit slices of the key's hash. A write copies only the
+ * nodes on the path from the root to the changed key (at most eight of them)
+ * and shares the rest with the previous version, then publishes the new root
+ * with a compare-and-set. Readers never lock: each read works on the root it
+ * started with, and snapshot() hands out a map that keeps a version for as
+ * long as it is needed, while writers go on producing new versions.
+ */
+public class PersistentHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    private static final int BITS = 5; // hash bits consumed per level of the trie
+    private static final int MASK = (1 << BITS) - 1;
+    // deepest possible path: seven bitmap levels (shifts 0 to 30) and a collision node
+    private static final int MAX_DEPTH = 8;
+
+    // one version of the map: the root of its trie and its number of pairs
+    private static final class Version {
+        public final TrieNode root;
+        public final int size;
+
+        public Version(TrieNode root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+    }
+
+    // a node of the trie; a node is never modified once it can be reached from a published root
+    private static abstract class TrieNode {
+
+        // returns the leaf holding key, or null when key is not stored below this node
+        public abstract Leaf find(Object key, int hash, int shift);
+
+        // returns a node that also holds leaf, or this very node when leaf's key is already stored
+        public abstract TrieNode insert(Leaf leaf, int shift);
+
+        // returns a node without key (null once nothing is left), or this very node when key is not stored
+        public abstract TrieNode delete(Object key, int hash, int shift);
+
+        // the children that cursors walk, or null for a leaf
+        public abstract TrieNode[] children();
+
+    }
+
+    // a key,value pair
+    private static final class Leaf extends TrieNode {
+        public final Object key;
+        public final Object value;
+        public final int hash;
+
+        public Leaf(Object key, Object value, int hash) {
+            this.key = key;
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public Leaf find(Object key, int hash, int shift) {
+            return this.hash == hash && this.key.equals(key) ? this : null;
+        }
+
+        @Override
+        public TrieNode insert(Leaf leaf, int shift) {
+            if(find(leaf.key, leaf.hash, shift) != null) {
+                return this; // key already stored
+            }
+            return merge(this, leaf, shift);
+        }
+
+        @Override
+        public TrieNode delete(Object key, int hash, int shift) {
+            return find(key, hash, shift) != null ? null : this;
+        }
+
+        @Override
+        public TrieNode[] children() {
+            return null;
+        }
+    }
+
+    // an inner node whose bitmap tells which of the 32 hash slices have a child; children are packed in slice order
+    private static final class BitmapNode extends TrieNode {
+        public final int bitmap;
+        public final TrieNode[] children;
+
+        public BitmapNode(int bitmap, TrieNode[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+        @Override
+        public Leaf find(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit) == 0) {
+                return null;
+            }
+            return children[Integer.bitCount(bitmap & (bit - 1))].find(key, hash, shift + BITS);
+        }
+
+        @Override
+        public TrieNode insert(Leaf leaf, int shift) {
+            int bit = 1 << ((leaf.hash >>> shift) & MASK);
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            if((bitmap & bit) == 0) {
+                TrieNode[] copy = new TrieNode[children.length + 1];
+                System.arraycopy(children, 0, copy, 0, index);
+                copy[index] = leaf;
+                System.arraycopy(children, index, copy, index + 1, children.length - index);
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            TrieNode child = children[index].insert(leaf, shift + BITS);
+            if(child == children[index]) {
+                return this; // key already stored
+            }
+            TrieNode[] copy = children.clone();
+            copy[index] = child;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        @Override
+        public TrieNode delete(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if((bitmap & bit) == 0) {
+                return this; // key not stored
+            }
+            int index = Integer.bitCount(bitmap & (bit - 1));
+            TrieNode child = children[index].delete(key, hash, shift + BITS);
+            if(child == children[index]) {
+                return this; // key not stored
+            }
+            if(child != null) {
+                if(children.length == 1 && child instanceof Leaf && shift > 0) {
+                    return child; // a lone leaf moves up to the parent
+                }
+                TrieNode[] copy = children.clone();
+                copy[index] = child;
+                return new BitmapNode(bitmap, copy);
+            }
+            if(children.length == 1) {
+                return null; // nothing is left below this node
+            }
+            if(children.length == 2 && children[1 - index] instanceof Leaf && shift > 0) {
+                return children[1 - index]; // a lone leaf moves up to the parent
+            }
+            TrieNode[] copy = new TrieNode[children.length - 1];
+            System.arraycopy(children, 0, copy, 0, index);
+            System.arraycopy(children, index + 1, copy, index, copy.length - index);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        @Override
+        public TrieNode[] children() {
+            return children;
+        }
+    }
+
+    // leaves whose keys have the same full hash, which no slice of the hash can tell apart
+    private static final class CollisionNode extends TrieNode {
+        public final int hash;
+        public final Leaf[] leaves;
+
+        public CollisionNode(int hash, Leaf[] leaves) {
+            this.hash = hash;
+            this.leaves = leaves;
+        }
+
+        @Override
+        public Leaf find(Object key, int hash, int shift) {
+            if(hash == this.hash) {
+                for(Leaf leaf : leaves) {
+                    if(leaf.key.equals(key)) {
+                        return leaf;
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public TrieNode insert(Leaf leaf, int shift) {
+            if(find(leaf.key, leaf.hash, shift) != null) {
+                return this; // key already stored
+            }
+            Leaf[] copy = Arrays.copyOf(leaves, leaves.length + 1);
+            copy[leaves.length] = leaf;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public TrieNode delete(Object key, int hash, int shift) {
+            for(int i = 0; i < leaves.length; i++) {
+                if(leaves[i].hash == hash && leaves[i].key.equals(key)) {
+                    if(leaves.length == 2) {
+                        return leaves[1 - i]; // a lone leaf moves up to the parent
+                    }
+                    Leaf[] copy = new Leaf[leaves.length - 1];
+                    System.arraycopy(leaves, 0, copy, 0, i);
+                    System.arraycopy(leaves, i + 1, copy, i, copy.length - i);
+                    return new CollisionNode(this.hash, copy);
+                }
+            }
+            return this; // key not stored
+        }
+
+        @Override
+        public TrieNode[] children() {
+            return leaves;
+        }
+    }
+
+    private static final Version EMPTY = new Version(new BitmapNode(0, new TrieNode[0]), 0);
+
+    // the current version, replaced as a whole by every write
+    private final AtomicReference<Version> current;
+
+    // default constructor that initializes an empty map
+    public PersistentHashtableMap() {
+        this.current = new AtomicReference<>(EMPTY);
+    }
+
+    // single argument constructor that starts from an existing version, shared with the map it came from
+    private PersistentHashtableMap(Version version) {
+        this.current = new AtomicReference<>(version);
+    }
+
+  /**
+   * Private helper method that builds the smallest subtrie holding two leaves with different keys
+   * @param leaf1 a Leaf, leaf2 a Leaf, shift the hash bits already consumed above the new subtrie
+   * @return a node holding both leaves
+   */
+    private static TrieNode merge(Leaf leaf1, Leaf leaf2, int shift) {
+        if(shift >= 32) {
+            return new CollisionNode(leaf1.hash, new Leaf[] {leaf1, leaf2}); // the whole hash is equal
+        }
+        int slice1 = (leaf1.hash >>> shift) & MASK;
+        int slice2 = (leaf2.hash >>> shift) & MASK;
+        if(slice1 == slice2) {
+            return new BitmapNode(1 << slice1, new TrieNode[] {merge(leaf1, leaf2, shift + BITS)});
+        }
+        TrieNode[] children = slice1 < slice2 ? new TrieNode[] {leaf1, leaf2} : new TrieNode[] {leaf2, leaf1};
+        return new BitmapNode((1 << slice1) | (1 << slice2), children);
+    }
+
+  /**
+   * Private helper method that spreads the high bits of a key's hashCode() into the low bits, which
+   * pick the child at the root
+   * @param key a key
+   * @throws NullPointerException if the passed key is null
+   * @return the hash of the key, an int
+   */
+    private static int hash(Object key) {
+        int h = key.hashCode(); // throws NPE when key is null
+        return h ^ (h >>> 16);
+    }
+
+  /**
+   * Returns a map that starts from the current version of this map. Neither map sees the writes made
+   * to the other one afterwards, and since the two share every node, taking a snapshot is O(1)
+   * @param None
+   * @return a snapshot of this map, a PersistentHashtableMap
+   */
+    public PersistentHashtableMap<KeyType, ValueType> snapshot() {
+        return new PersistentHashtableMap<>(current.get());
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects, publishing a new version of the map
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the map already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if(!putIfAbsent(key, value)) {
+            throw new IllegalArgumentException("key already exists in this collection");
+        }
+    }
+
+  /**
+   * Inserts a pair containing the provided key and value objects unless the key is already stored,
+   * publishing a new version of the map. Concurrent writers retry until their version is published
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the pair was added, false if the key was already stored
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        Leaf leaf = new Leaf(key, value, hash(key));
+        while(true) {
+            Version version = current.get();
+            TrieNode root = version.root.insert(leaf, 0);
+            if(root == version.root) {
+                return false; // key already stored
+            }
+            if(current.compareAndSet(version, new Version(root, version.size + 1))) {
+                return true;
+            }
+        }
+    }
+
+  /**
+   * Does nothing, since a trie allocates its nodes as keys are inserted
+   * @param expectedSize the number of keys this map will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        // no table to presize
+    }
+
+  /**
+   * Inserts a batch of pairs and publishes them as one new version, so readers see either none or all
+   * of them
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique whether
+   *        the caller guarantees that no key is repeated or already stored (keys are checked either way)
+   * @throws IllegalArgumentException if the lists differ in length, or if assumeUnique is false and a
+   *         key is already stored (the pairs before it are published)
+   * @throws NullPointerException if any key is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values must have the same length");
+        }
+        while(true) {
+            Version version = current.get();
+            TrieNode root = version.root;
+            int size = version.size;
+            KeyType duplicate = null;
+            Iterator<ValueType> valueIterator = values.iterator();
+            for(KeyType key : keys) {
+                TrieNode next = root.insert(new Leaf(key, valueIterator.next(), hash(key)), 0);
+                if(next == root) {
+                    if(!assumeUnique) {
+                        duplicate = key;
+                        break;
+                    }
+                    continue; // the trie cannot hold the key twice, so a repeated key is skipped
+                }
+                root = next;
+                size++;
+            }
+            if(current.compareAndSet(version, new Version(root, size))) {
+                if(duplicate != null) {
+                    throw new IllegalArgumentException("key already exists in this collection");
+                }
+                return;
+            }
+        }
+    }
+
+  /**
+   * Checks whether the given key is stored in the current version of the map
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the map contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return current.get().root.find(key, hash(key), 0) != null;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in the map
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        Leaf leaf = current.get().root.find(key, hash(key), 0);
+        if(leaf == null) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return (ValueType) leaf.value;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given default
+   * when the key does not exist
+   * @param key a KeyType, defaultValue a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        Leaf leaf = current.get().root.find(key, hash(key), 0);
+        return leaf == null ? defaultValue : (ValueType) leaf.value;
+    }
+
+  /**
+   * Removes the pair stored at the given key, publishing a new version of the map
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in the map
+   * @throws NullPointerException if the passed key is null
+   * @return the value of the removed pair, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        Leaf leaf = removeLeaf(key);
+        if(leaf == null) {
+            throw new NoSuchElementException("key is not contained in this collection");
+        }
+        return (ValueType) leaf.value;
+    }
+
+  /**
+   * Removes the pair stored at the given key if there is one, publishing a new version of the map
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the value of the removed pair, or null if the key was not stored
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType removeIfPresent(KeyType key) {
+        Leaf leaf = removeLeaf(key);
+        return leaf == null ? null : (ValueType) leaf.value;
+    }
+
+  /**
+   * Private helper method that removes the leaf of a key with a single compare-and-set loop, so that
+   * whether the key was stored and the version it is removed from are always the same version
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the removed leaf, or null if the key was not stored in the version read last
+   */
+    private Leaf removeLeaf(KeyType key) {
+        int hash = hash(key);
+        while(true) {
+            Version version = current.get();
+            Leaf leaf = version.root.find(key, hash, 0);
+            if(leaf == null) {
+                return null; // key not stored in this version
+            }
+            TrieNode root = version.root.delete(key, hash, 0);
+            if(current.compareAndSet(version, new Version(root == null ? EMPTY.root : root, version.size - 1))) {
+                return leaf;
+            }
+        }
+    }
+
+  /**
+   * Publishes an empty version of the map; snapshots taken before keep their pairs
+   * @param None
+   * @return None
+   */
+    @Override
+    public void clear() {
+        current.set(EMPTY);
+    }
+
+  /**
+   * Returns size of the current version of this map
+   * @param None
+   * @return map's size, an int
+   */
+    @Override
+    public int getSize() {
+        return current.get().size;
+    }
+
+  /**
+   * Returns the number of pairs the map holds, since a trie has no fixed capacity
+   * @param None
+   * @return map's size, an int
+   */
+    @Override
+    public int getCapacity() {
+        return getSize();
+    }
+
+  /**
+   * Returns the keys of the current version of this map, in hash order
+   * @param None
+   * @return read-only list of keys, a List of KeyType
+   */
+    @Override
+    public List<KeyType> getKeys() {
+        List<KeyType> keys = new ArrayList<>(getSize());
+        forEach((key, value) -> keys.add(key));
+        return Collections.unmodifiableList(keys);
+    }
+
+  /**
+   * Passes every pair of the current version of this map to the given action, in hash order
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        MapCursor<KeyType, ValueType> cursor = cursor();
+        while(cursor.next()) {
+            action.accept(cursor.key(), cursor.value());
+        }
+    }
+
+  /**
+   * Returns a cursor over every pair of the current version of this map, in hash order. Since that
+   * version never changes, the map may be written while the cursor walks it
+   * @param None
+   * @return a new cursor positioned before the first pair, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new TrieCursor(current.get().root);
+    }
+
+    // walks a trie depth first, keeping the path from the root to the current leaf
+    private class TrieCursor implements MapCursor<KeyType, ValueType> {
+        private final TrieNode[] path = new TrieNode[MAX_DEPTH];
+        private final int[] positions = new int[MAX_DEPTH]; // next child to visit at each level of path
+        private int depth = 0;
+        private Leaf leaf = null;
+
+        public TrieCursor(TrieNode root) {
+            path[0] = root;
+        }
+
+        @Override
+        public boolean next() {
+            while(depth >= 0) {
+                TrieNode[] children = path[depth].children();
+                if(positions[depth] == children.length) {
+                    depth--; // every child of this node has been visited
+                    continue;
+                }
+                TrieNode child = children[positions[depth]++];
+                if(child instanceof Leaf) {
+                    leaf = (Leaf) child;
+                    return true;
+                }
+                depth++;
+                path[depth] = child;
+                positions[depth] = 0;
+            }
+            leaf = null;
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KeyType key() {
+            if(leaf == null) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+            return (KeyType) leaf.key;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueType value() {
+            if(leaf == null) {
+                throw new IllegalStateException("cursor is not on a pair");
+            }
+            return (ValueType) leaf.value;
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class PersistentHashtableMapTests {
+
+    /**
+     * Tests that inserting and removing keys, including deep paths that collapse again, matches java.util.HashMap
+     */
+    @Test
+    public void testAgainstHashMap() {
+        PersistentHashtableMap<Integer, Integer> map = new PersistentHashtableMap<>();
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(17);
+        for(int i = 0; i < 20000; i++) {
+            int key = random.nextInt(2000) << random.nextInt(20); // keys that share many low bits build deep paths
+            if(random.nextInt(3) > 0) {
+                Assertions.assertEquals(!expected.containsKey(key), map.putIfAbsent(key, i), "putIfAbsent should match for key " + key + ".");
+                expected.putIfAbsent(key, i);
+            } else {
+                Assertions.assertEquals(expected.remove(key), map.removeIfPresent(key), "Removed value should match for key " + key + ".");
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.getSize(), "Sizes should match java.util.HashMap.");
+        for(Integer key : expected.keySet()) {
+            Assertions.assertEquals(expected.get(key), map.get(key), "Every key should match java.util.HashMap.");
+        }
+        Assertions.assertEquals(expected.size(), map.getKeys().size(), "getKeys should list every key once.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(map.getKeys().get(0), 0), "put should reject stored keys.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get(-1), "get should throw for missing keys.");
+        Assertions.assertThrows(NullPointerException.class, () -> map.containsKey(null), "Null keys should throw.");
+    }
+
+    /**
+     * Tests that keys sharing one hash code are stored, found and removed
+     */
+    @Test
+    public void testCollidingHashCodes() {
+        // "Aa" and "BB" have the same hash code, so every string made of them does too
+        PersistentHashtableMap<String, Integer> map = new PersistentHashtableMap<>();
+        String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB"};
+        for(int i = 0; i < keys.length; i++) {
+            map.put(keys[i], i);
+        }
+        for(int i = 0; i < keys.length; i++) {
+            Assertions.assertEquals(i, map.get(keys[i]), "Colliding keys should map to their values.");
+        }
+        Assertions.assertEquals(1, map.remove("AaBB"), "Removing a colliding key should return its value.");
+        Assertions.assertEquals(2, map.remove("BBAa"), "Removing a colliding key should return its value.");
+        Assertions.assertEquals(3, map.remove("BBBB"), "Removing a colliding key should return its value.");
+        Assertions.assertEquals(0, map.get("AaAa"), "The last colliding key should still be found.");
+        Assertions.assertEquals(1, map.getSize(), "Expected size is one after removing three keys.");
+    }
+
+    /**
+     * Tests that a snapshot and a cursor keep the version they started from while the map is written
+     */
+    @Test
+    public void testSnapshots() {
+        PersistentHashtableMap<String, Integer> map = new PersistentHashtableMap<>();
+        for(int i = 0; i < 100; i++) {
+            map.put("Building " + i, i);
+        }
+        PersistentHashtableMap<String, Integer> snapshot = map.snapshot();
+        MapCursor<String, Integer> cursor = map.cursor();
+        for(int i = 0; i < 50; i++) {
+            map.remove("Building " + i);
+        }
+        map.put("Library", 100);
+        snapshot.put("Union", 200);
+        Assertions.assertEquals(51, map.getSize(), "Map should see its own writes.");
+        Assertions.assertEquals(101, snapshot.getSize(), "Snapshot should only see its own writes.");
+        Assertions.assertEquals(7, snapshot.get("Building 7"), "Snapshot should keep keys removed from the map.");
+        Assertions.assertEquals(false, snapshot.containsKey("Library"), "Snapshot should not see keys put into the map.");
+        Assertions.assertEquals(false, map.containsKey("Union"), "Map should not see keys put into the snapshot.");
+        int count = 0;
+        while(cursor.next()) {
+            Assertions.assertEquals(true, cursor.key().startsWith("Building "), "Cursor should walk the version it started from.");
+            count++;
+        }
+        Assertions.assertEquals(100, count, "Cursor should visit every pair of its version once.");
+        map.clear();
+        Assertions.assertEquals(0, map.getSize(), "Map should contain no elements after clearing.");
+        Assertions.assertEquals(101, snapshot.getSize(), "Clearing the map should not affect the snapshot.");
+    }
+
+    /**
+     * Tests that writers on several threads all publish their keys without locks, and that a batch is published at once
+     */
+    @Test
+    public void testConcurrentWriters() throws InterruptedException {
+        PersistentHashtableMap<Integer, Integer> map = new PersistentHashtableMap<>();
+        List<Thread> threads = new ArrayList<>();
+        for(int t = 0; t < 4; t++) {
+            int offset = t * 10000;
+            Thread thread = new Thread(() -> {
+                for(int i = 0; i < 5000; i++) {
+                    map.put(offset + i, i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for(Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(20000, map.getSize(), "Every concurrent put should be published.");
+        Assertions.assertEquals(4999, map.get(34999), "Keys of every thread should be found.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.putAll(List.of(-1, -2, 0), List.of(1, 2, 3), false), "putAll should reject stored keys.");
+        Assertions.assertEquals(true, map.containsKey(-2), "Pairs before the duplicate should stay added.");
+        Assertions.assertEquals(20002, map.getSize(), "Expected size is 20002 after the batch.");
+    }
+
+}
@@ -1,5 +1,8 @@
 import java.util.List;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.function.BiConsumer;
 import java.util.NoSuchElementException;
 
 /**
@@ -46,6 +49,84 @@ public class PlaceholderMap<KeyType, ValueType> implements MapADT<KeyType, Value
         throw new NoSuchElementException("key " + key.toString() + " not in map");
     }
 
+    @Override
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        return baseMap.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        return baseMap.remove(key);
+    }
+
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        if (key == null)
+            throw new NullPointerException("null keys not allowed");
+        if (baseMap.containsKey(key))
+            return false;
+        baseMap.put(key, value);
+        return true;
+    }
+
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        // java.util.HashMap grows on its own, and cannot be presized once it has been created
+    }
+
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if (keys.size() != values.size())
+            throw new IllegalArgumentException("keys and values differ in length");
+        Iterator<ValueType> valueIterator = values.iterator();
+        for (KeyType key : keys) {
+            if (assumeUnique) {
+                if (key == null)
+                    throw new NullPointerException("null keys not allowed");
+                baseMap.put(key, valueIterator.next());
+            } else {
+                put(key, valueIterator.next());
+            }
+        }
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        baseMap.forEach(action);
+    }
+
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        Iterator<Map.Entry<KeyType, ValueType>> iterator = baseMap.entrySet().iterator();
+        return new MapCursor<KeyType, ValueType>() {
+            private Map.Entry<KeyType, ValueType> entry = null;
+
+            @Override
+            public boolean next() {
+                entry = iterator.hasNext() ? iterator.next() : null;
+                return entry != null;
+            }
+
+            @Override
+            public KeyType key() {
+                if (entry == null)
+                    throw new IllegalStateException("cursor is not on a pair");
+                return entry.getKey();
+            }
+
+            @Override
+            public ValueType value() {
+                if (entry == null)
+                    throw new IllegalStateException("cursor is not on a pair");
+                return entry.getValue();
+            }
+        };
+    }
+
     @Override
     public void clear() {
         baseMap.clear();
@@ -0,0 +1,31 @@
+/**
+ * A hashing scheme for tables whose length is a power of two: the index is
+ * taken with a bit mask instead of an integer division. Because a mask only
+ * keeps the low bits, the key's hashCode() is first run through the 32-bit
+ * MurmurHash3 finalizer, which spreads every input bit over the whole hash.
+ * This keeps similar keys (such as building names that differ in one
+ * character) from clustering in neighboring buckets.
+ */
+public class PowerOfTwoHashStrategy implements HashStrategy {
+
+    @Override
+    public int hash(Object key) {
+        int h = key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    @Override
+    public int indexFor(int hash, int capacity) {
+        return hash & (capacity - 1);
+    }
+
+    @Override
+    public int tableSizeFor(int capacity) {
+        return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    }
+
+}
@@ -0,0 +1,470 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements MapADT with Robin Hood open addressing. Like
+ * OpenAddressingHashtableMap it probes linearly through parallel arrays, but an
+ * entry being inserted takes the slot of any entry that is closer to its own
+ * home slot, so probe lengths stay short and even at high load factors. Each
+ * slot remembers its entry's probe length, which lets a lookup stop as soon as
+ * it meets an entry that is closer to home than the key would be, and removal
+ * shifts later entries back instead of leaving tombstones.
+ */
+public class RobinHoodHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    protected Object[] keys = null;
+    protected Object[] values = null;
+    protected int[] hashes = null; // cached hash of each key
+    // number of slots a lookup examines to reach the entry in each slot (1 at its home slot), or 0 for an empty slot
+    protected int[] probeLengths = null;
+    private int size = 0;
+    private int maxProbeLength = 0; // no entry is further than this from home, so longer probes can stop
+    private final double maxLoadFactor;
+    // how keys are hashed and hashes are turned into home indexes
+    protected final HashStrategy hashStrategy;
+
+    // three argument constructor that initializes a hashmap with given capacity (rounded as hashStrategy
+    // requires), which grows once the given load factor is reached and hashes keys with the given strategy
+    public RobinHoodHashtableMap(int capacity, double maxLoadFactor, HashStrategy hashStrategy) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive"); // check that at least one slot exists
+        }
+        if(!(maxLoadFactor > 0 && maxLoadFactor < 1)) {
+            throw new IllegalArgumentException("load factor must be between 0 and 1"); // at least one slot must stay empty
+        }
+        this.hashStrategy = hashStrategy;
+        this.maxLoadFactor = maxLoadFactor;
+        allocate(hashStrategy.tableSizeFor(capacity));
+    }
+
+    // two argument constructor that initializes a hashmap with given capacity, which grows once the given load factor is reached
+    public RobinHoodHashtableMap(int capacity, double maxLoadFactor) {
+        this(capacity, maxLoadFactor, new ModuloHashStrategy());
+    }
+
+    // single argument constructor that initializes a hashmap with given capacity and a load factor of 0.9
+    public RobinHoodHashtableMap(int capacity) {
+        this(capacity, 0.9);
+    }
+
+    // default constructor that initializes a hashmap with default capacity of 64
+    public RobinHoodHashtableMap() {
+        this(64);
+    }
+
+  /**
+   * Inserts the provided key and value
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the hashmap already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if(!this.putIfAbsent(key, value)) {
+            throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
+        }
+    }
+
+  /**
+   * Inserts the provided key and value unless the key is already stored. Along the probe sequence
+   * the new entry swaps places with every entry that is closer to its home slot than it is
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the entry was inserted, false if the hashmap already contains this key
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        int hash = hashStrategy.hash(key);
+        if(findSlot(key, hash) >= 0) {
+            return false; // key already exists, leave its entry unchanged
+        }
+        if((double)(size + 1) / this.keys.length > maxLoadFactor) {
+            resizeHelper(); // check the load factor and if necessary, rehash into a larger table
+        }
+        place(key, value, hash);
+        size++; // increment size
+        return true;
+    }
+
+  /**
+   * Checks whether the given key is stored in the hashmap
+   * @param key a KeyType
+   * @return true if the hashmap contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findSlot(key, hashStrategy.hash(key)) >= 0;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        int id = findSlot(key, hashStrategy.hash(key));
+        if(id < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return (ValueType) this.values[id];
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given
+   * default when the key does not exist, without throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        int id = findSlot(key, hashStrategy.hash(key));
+        return id < 0 ? defaultValue : (ValueType) this.values[id];
+    }
+
+  /**
+   * Finds and removes the entry with the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @return the value stored at the removed key, a ValueType object
+   */
+    @Override
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        int id = findSlot(key, hashStrategy.hash(key));
+        if(id < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return removeSlot(id); // return a reference to the removed value
+    }
+
+  /**
+   * Removes the entry with the key provided as an argument if it exists, without throwing
+   * @param key a KeyType
+   * @return the value stored at the removed key, or null if the key does not exist in hashmap
+   */
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        int id = findSlot(key, hashStrategy.hash(key));
+        return id < 0 ? null : removeSlot(id);
+    }
+
+  /**
+   * Rehashes the hashtable once so that it can hold expectedSize entries within its load factor
+   * @param expectedSize the number of entries the hashtable will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if((double)expectedSize / this.keys.length > maxLoadFactor) {
+            rehash(hashStrategy.tableSizeFor((int)(expectedSize / maxLoadFactor) + 1));
+        }
+    }
+
+  /**
+   * Inserts a batch of entries after sizing the hashtable for all of them. When the keys are known
+   * to be unique, each entry is placed without first looking its key up
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique
+   *        true if no key is repeated or already stored
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is
+   *         false and the hashmap already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        ensureCapacity(size + keys.size());
+        Iterator<ValueType> valueIterator = values.iterator();
+        for(KeyType key : keys) {
+            if(assumeUnique) {
+                place(key, valueIterator.next(), hashStrategy.hash(key));
+                size++; // increment size
+            } else {
+                this.put(key, valueIterator.next());
+            }
+        }
+    }
+
+  /**
+   * Empties every slot of the hashtable (clears table)
+   * @param None
+   * @return None
+   */
+    @Override
+    public void clear() {
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.values, null);
+        Arrays.fill(this.probeLengths, 0);
+        size = 0; // reset size
+        maxProbeLength = 0;
+    }
+
+  /**
+   * Returns size of this hashtable
+   * @param None
+   * @return hashtable's size, an int
+   */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+  /**
+   * Returns capacity of this hashtable
+   * @param None
+   * @return number of slots in the hashtable, an int
+   */
+    @Override
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+  /**
+   * Returns a new list with every key currently stored in the hashtable, in slot order
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<KeyType> getKeys() {
+        List<KeyType> list = new ArrayList<>(size);
+        for(int i = 0; i < this.keys.length; i++) {
+            if(this.probeLengths[i] != 0) {
+                list.add((KeyType) this.keys[i]);
+            }
+        }
+        return list;
+    }
+
+  /**
+   * Passes every entry to the given action, in slot order
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(int i = 0; i < this.keys.length; i++) {
+            if(this.probeLengths[i] != 0) {
+                action.accept((KeyType) this.keys[i], (ValueType) this.values[i]);
+            }
+        }
+    }
+
+  /**
+   * Returns a cursor over every entry, in slot order
+   * @param None
+   * @return a new cursor positioned before the first entry, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new SlotCursor();
+    }
+
+    // cursor over the slots, which only keeps the index of the current slot
+    private class SlotCursor implements MapCursor<KeyType, ValueType> {
+
+        private int slot = -1;
+
+        @Override
+        public boolean next() {
+            int i = slot + 1;
+            while(i < keys.length && !(probeLengths[i] != 0)) {
+                i++; // skip empty slots
+            }
+            slot = Math.min(i, keys.length);
+            return slot < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KeyType key() {
+            return (KeyType) keys[current()];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueType value() {
+            return (ValueType) values[current()];
+        }
+
+        private int current() {
+            if(slot < 0 || slot >= keys.length) {
+                throw new IllegalStateException("cursor is not on an entry");
+            }
+            return slot;
+        }
+
+    }
+
+  /**
+   * Returns the bound on probe lengths that lookups of missing keys stop at. It grows with
+   * insertions and is recomputed exactly whenever the table is rehashed
+   * @param None
+   * @return the longest probe length of any entry since the last rehash, an int
+   */
+    public int getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+  /**
+   * Returns how many stored entries are found after each number of probes, which is the cost
+   * of a successful lookup of each key
+   * @param None
+   * @return an array whose element i counts the entries with a probe length of i (element 0 is always 0)
+   */
+    public int[] getProbeLengthHistogram() {
+        int longest = 0;
+        for(int probeLength : this.probeLengths) {
+            longest = Math.max(longest, probeLength);
+        }
+        int[] histogram = new int[longest + 1];
+        for(int probeLength : this.probeLengths) {
+            if(probeLength != 0) {
+                histogram[probeLength]++;
+            }
+        }
+        return histogram;
+    }
+
+  /**
+   * Returns the mean probe length of a successful lookup over every stored key
+   * @param None
+   * @return the average probe length, a double (0 when the hashtable is empty)
+   */
+    public double getAverageProbeLength() {
+        long total = 0;
+        for(int probeLength : this.probeLengths) {
+            total += probeLength;
+        }
+        return size == 0 ? 0 : (double) total / size;
+    }
+
+  /**
+   * Private helper method that walks the probe sequence of a key. The walk stops early at an empty
+   * slot, at an entry closer to its home than the key would be (Robin Hood order means the key
+   * would have taken that slot), or once it exceeds the longest probe length in the table
+   * @param key a KeyType, hash the key's hash from hashStrategy
+   * @return the slot holding the key, or -1 if the key is not stored
+   */
+    private int findSlot(KeyType key, int hash) {
+        int id = hashStrategy.indexFor(hash, this.keys.length); // use the hash to get the home index
+        for(int probeLength = 1; probeLength <= maxProbeLength; probeLength++) {
+            if(this.probeLengths[id] < probeLength) {
+                return -1; // an empty slot or a richer entry ends the probe sequence
+            }
+            if(this.hashes[id] == hash && this.keys[id].equals(key)) {
+                return id; // key found along its probe sequence
+            }
+            id = (id + 1) % this.keys.length; // linear probing to the next slot
+        }
+        return -1; // no entry is stored this far from home
+    }
+
+  /**
+   * Private helper method that stores an entry that is known to be absent, displacing every entry
+   * closer to its home slot than the entry being carried and carrying the displaced entry onwards
+   * @param key a KeyType, value a ValueType, hash the key's hash from hashStrategy
+   * @return None
+   */
+    private void place(Object key, Object value, int hash) {
+        int id = hashStrategy.indexFor(hash, this.keys.length);
+        int probeLength = 1;
+        while(this.probeLengths[id] != 0) {
+            if(this.probeLengths[id] < probeLength) { // the resident is richer, so it gives up its slot
+                Object residentKey = this.keys[id];
+                Object residentValue = this.values[id];
+                int residentHash = this.hashes[id];
+                int residentProbeLength = this.probeLengths[id];
+                store(id, key, value, hash, probeLength);
+                key = residentKey;
+                value = residentValue;
+                hash = residentHash;
+                probeLength = residentProbeLength;
+            }
+            id = (id + 1) % this.keys.length;
+            probeLength++;
+        }
+        store(id, key, value, hash, probeLength);
+    }
+
+    private void store(int id, Object key, Object value, int hash, int probeLength) {
+        this.keys[id] = key;
+        this.values[id] = value;
+        this.hashes[id] = hash;
+        this.probeLengths[id] = probeLength;
+        maxProbeLength = Math.max(maxProbeLength, probeLength);
+    }
+
+  /**
+   * Private helper method that empties a slot and shifts the following entries of the cluster back
+   * by one, until an empty slot or an entry already at its home slot is reached
+   * @param id the slot of the entry to remove, an int
+   * @return the value of the removed entry, a ValueType object
+   */
+    @SuppressWarnings("unchecked")
+    private ValueType removeSlot(int id) {
+        ValueType val = (ValueType) this.values[id];
+        int next = (id + 1) % this.keys.length;
+        while(this.probeLengths[next] > 1) { // entries away from home move one slot closer to it
+            this.keys[id] = this.keys[next];
+            this.values[id] = this.values[next];
+            this.hashes[id] = this.hashes[next];
+            this.probeLengths[id] = this.probeLengths[next] - 1;
+            id = next;
+            next = (next + 1) % this.keys.length;
+        }
+        this.keys[id] = null;
+        this.values[id] = null;
+        this.probeLengths[id] = 0;
+        size--; // decrement size after removal
+        return val;
+    }
+
+    private void allocate(int capacity) {
+        this.keys = new Object[capacity];
+        this.values = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.probeLengths = new int[capacity];
+        this.maxProbeLength = 0;
+    }
+
+  /**
+   * Private helper method to handle resizing and rehashing of the hashtable when the load factor
+   * is reached. The cached hashes are reused, so no key is hashed again
+   * @param None
+   * @return None
+   */
+    private void resizeHelper() {
+        rehash(hashStrategy.tableSizeFor(this.keys.length * 2));
+    }
+
+  /**
+   * Private helper method that places every entry into new arrays of the given length
+   * @param capacity the length of the new arrays
+   * @return None
+   */
+    private void rehash(int capacity) {
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        int[] oldProbeLengths = this.probeLengths;
+        allocate(capacity);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldProbeLengths[i] != 0) {
+                place(oldKeys[i], oldValues[i], oldHashes[i]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.HashMap;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class RobinHoodHashtableMapTests {
+
+    /**
+     * Tests put, get, containsKey, remove and clear on a small map, including growth past the load factor
+     */
+    @Test
+    public void testBasicFunctionality() {
+        RobinHoodHashtableMap<Integer, String> map = new RobinHoodHashtableMap<>(10);
+        for(int i = 0; i < 9; i++) {
+            map.put(i * 10, "value" + i); // every key has home slot 0
+        }
+        Assertions.assertEquals(10, map.getCapacity(), "Nine keys in ten slots stay within a load factor of 0.9.");
+        map.put(5, "five");
+        Assertions.assertEquals(20, map.getCapacity(), "Map should double once the load factor would be exceeded.");
+        Assertions.assertEquals("value8", map.get(80), "Expected value is 'value8' for key 80.");
+        Assertions.assertEquals("value0", map.remove(0), "Removing key 0 should return 'value0'.");
+        Assertions.assertEquals(9, map.getSize(), "Expected size is nine after removing an element.");
+        map.clear();
+        Assertions.assertEquals(0, map.getSize(), "Map should contain no elements after clearing.");
+        Assertions.assertEquals(false, map.containsKey(80), "Map should not find keys after clearing.");
+    }
+
+    /**
+     * Tests that backward-shift deletion keeps every remaining key reachable, by comparing a long random
+     * sequence of operations against java.util.HashMap
+     */
+    @Test
+    public void testAgainstHashMap() {
+        RobinHoodHashtableMap<Integer, Integer> map = new RobinHoodHashtableMap<>(8, 0.95);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(400);
+        for(int i = 0; i < 20000; i++) {
+            int key = random.nextInt(500) - 250;
+            if(random.nextBoolean()) {
+                Assertions.assertEquals(!expected.containsKey(key), map.putIfAbsent(key, key * 3), "putIfAbsent should match for key " + key + ".");
+                expected.putIfAbsent(key, key * 3);
+            } else {
+                Assertions.assertEquals(expected.remove(key), map.removeIfPresent(key), "Removed value should match for key " + key + ".");
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.getSize(), "Sizes should match java.util.HashMap.");
+        for(int key = -250; key < 250; key++) {
+            Assertions.assertEquals(expected.get(key), map.getOrDefault(key, null), "Every key should match java.util.HashMap.");
+        }
+    }
+
+    /**
+     * Tests the probe length statistics, and that Robin Hood placement keeps probes short at a load factor of 0.9
+     */
+    @Test
+    public void testProbeLengthStatistics() {
+        RobinHoodHashtableMap<String, Integer> map = new RobinHoodHashtableMap<>(4, 0.9, new PowerOfTwoHashStrategy());
+        for(int i = 0; i < 900; i++) {
+            map.put("Building " + i, i);
+        }
+        Assertions.assertEquals(1024, map.getCapacity(), "900 keys should fit in 1024 slots at a load factor of 0.9.");
+        int[] histogram = map.getProbeLengthHistogram();
+        int counted = 0;
+        for(int count : histogram) {
+            counted += count;
+        }
+        Assertions.assertEquals(900, counted, "The histogram should count every stored key once.");
+        Assertions.assertEquals(histogram.length - 1, map.getMaxProbeLength(), "The bound should equal the longest probe right after growing.");
+        Assertions.assertTrue(map.getAverageProbeLength() < 4, "Average probe length should stay short, was " + map.getAverageProbeLength() + ".");
+        Assertions.assertEquals(false, map.containsKey("Building 900"), "A missing key should not be found.");
+        map.remove("Building 0");
+        Assertions.assertEquals(899, map.getSize(), "Expected size is 899 after removing an element.");
+        Assertions.assertEquals(42, map.get("Building 42"), "Keys should stay reachable after a backward shift.");
+    }
+
+    /**
+     * Tests that exceptions match the ones thrown by the other MapADT engines for missing and duplicate keys
+     */
+    @Test
+    public void testExceptions() {
+        RobinHoodHashtableMap<String, String> map = new RobinHoodHashtableMap<>();
+        map.put("a", "1");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("a", "2"));
+        Assertions.assertThrows(NullPointerException.class, () -> map.put(null, "2"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get("b"));
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.remove("b"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RobinHoodHashtableMap<String, String>(8, 1.0));
+        Assertions.assertEquals("1", map.get("a"), "A failed insert should not change the stored value.");
+    }
+
+}
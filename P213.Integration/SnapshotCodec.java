@@ -0,0 +1,28 @@
+import java.nio.ByteBuffer;
+
+/**
+ * A SnapshotCodec turns keys or values into bytes for a hashtable snapshot
+ * file, and turns the bytes of a mapped snapshot back into objects. Two keys
+ * must be equal exactly when their encodings are equal, since a mapped
+ * snapshot compares keys by their bytes.
+ */
+public interface SnapshotCodec<T> {
+
+    /**
+     * Encodes an object.
+     * @param value the object to encode, never null
+     * @return the bytes that represent value
+     */
+    public byte[] encode(T value);
+
+    /**
+     * Decodes an object from a region of a buffer, without moving the
+     * buffer's position.
+     * @param buffer the buffer holding the encoded bytes
+     * @param offset the index of the first encoded byte
+     * @param length the number of encoded bytes
+     * @return the decoded object
+     */
+    public T decode(ByteBuffer buffer, int offset, int length);
+
+}
@@ -0,0 +1,21 @@
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This SnapshotCodec stores Strings, such as location names, as UTF-8 bytes.
+ */
+public class StringSnapshotCodec implements SnapshotCodec<String> {
+
+    @Override
+    public byte[] encode(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String decode(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes); // absolute bulk get, so the shared buffer's position is untouched
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,505 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * This class implements MapADT with open addressing over groups of 8 slots,
+ * in the style of SwissTable. Next to the key and value arrays, every slot has
+ * a control byte: EMPTY, DELETED, or the low 7 bits of the key's hash when the
+ * slot is full. The 8 control bytes of a group are packed into one long, so a
+ * lookup compares its 7-bit tag against a whole group with a few word-wide
+ * (SWAR) operations, and only calls equals() on the slots whose tag matches.
+ * Most misses, and most non-matching slots of hits, are resolved from the
+ * control words without reading a key. Groups are probed quadratically, and a
+ * lookup ends at the first group that has an EMPTY slot.
+ */
+public class SwissHashtableMap<KeyType, ValueType> implements MapADT<KeyType, ValueType> {
+
+    private static final int GROUP_SIZE = 8; // slots per group, one control byte each in a long
+    private static final long LSB = 0x0101010101010101L; // lowest bit of every byte
+    private static final long MSB = 0x8080808080808080L; // highest bit of every byte
+    private static final int EMPTY = 0x80; // control byte of a slot that was never used since the last rehash
+    private static final int DELETED = 0xFE; // control byte of a slot whose entry was removed
+    private static final long EMPTY_GROUP = LSB * EMPTY;
+    // the table is rehashed before full and deleted slots take more than this share of it
+    private static final double MAX_LOAD_FACTOR = 0.875;
+
+    protected long[] control = null; // control bytes of group g in control[g], slot g*8+i in byte i
+    protected Object[] keys = null;
+    protected Object[] values = null;
+    private int size = 0;
+    private int tombstones = 0;
+
+    // single argument constructor that initializes a hashmap with room for at least the given number of slots
+    public SwissHashtableMap(int capacity) {
+        if(capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive"); // check that at least one slot exists
+        }
+        allocate(slotsFor(capacity));
+    }
+
+    // default constructor that initializes a hashmap with default capacity of 64
+    public SwissHashtableMap() {
+        this(64);
+    }
+
+  /**
+   * Private helper method that rounds a number of slots up to a power of two number of groups
+   * @param capacity a number of slots
+   * @return the number of slots to allocate, an int
+   */
+    private static int slotsFor(int capacity) {
+        int groups = (capacity + GROUP_SIZE - 1) / GROUP_SIZE;
+        return (groups <= 1 ? 1 : Integer.highestOneBit(groups - 1) << 1) * GROUP_SIZE;
+    }
+
+  /**
+   * Private helper method that replaces the table with empty arrays of the given number of slots
+   * @param slots a multiple of 8 whose number of groups is a power of two
+   * @return None
+   */
+    private void allocate(int slots) {
+        this.control = new long[slots / GROUP_SIZE];
+        Arrays.fill(this.control, EMPTY_GROUP);
+        this.keys = new Object[slots];
+        this.values = new Object[slots];
+        this.tombstones = 0;
+    }
+
+  /**
+   * Private helper method that mixes a key's hashCode() with the MurmurHash3 finalizer, so that both
+   * the group index (high bits) and the tag (low 7 bits) depend on every bit of it
+   * @param key a key
+   * @throws NullPointerException if the passed key is null
+   * @return the hash of the key, an int
+   */
+    private static int hash(Object key) {
+        int h = key.hashCode(); // throws NPE when key is null
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+  /**
+   * Private helper method that finds the bytes of a control word equal to a tag. A byte just above a
+   * matching byte may be reported as well, which the caller rules out by comparing keys
+   * @param group a control word, tag a value from 0 to 127
+   * @return a word with the high bit of every matching byte set
+   */
+    private static long matchTag(long group, int tag) {
+        long x = group ^ (LSB * tag); // matching bytes become zero
+        return (x - LSB) & ~x & MSB;
+    }
+
+  /**
+   * Private helper method that finds the EMPTY bytes of a control word: the only bytes with the high
+   * bit set and bit 1 clear
+   * @param group a control word
+   * @return a word with the high bit of every EMPTY byte set
+   */
+    private static long matchEmpty(long group) {
+        return group & (~group << 6) & MSB;
+    }
+
+  /**
+   * Private helper method that finds the EMPTY and DELETED bytes of a control word, which are the
+   * bytes with the high bit set
+   * @param group a control word
+   * @return a word with the high bit of every EMPTY or DELETED byte set
+   */
+    private static long matchFree(long group) {
+        return group & MSB;
+    }
+
+  /**
+   * Private helper method that turns the lowest match of a match word into a slot of a group
+   * @param group the index of a group, match a non-zero word returned by one of the match methods
+   * @return the slot of the match, an int
+   */
+    private static int slotOf(int group, long match) {
+        return group * GROUP_SIZE + (Long.numberOfTrailingZeros(match) >>> 3);
+    }
+
+  /**
+   * Private helper method that writes the control byte of a slot
+   * @param slot a slot index, value the new control byte
+   * @return None
+   */
+    private void setControl(int slot, int value) {
+        int shift = (slot % GROUP_SIZE) * 8;
+        int group = slot / GROUP_SIZE;
+        control[group] = (control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+  /**
+   * Private helper method that checks whether a slot holds an entry
+   * @param slot a slot index
+   * @return true if the control byte of the slot is a tag
+   */
+    private boolean isFull(int slot) {
+        return (control[slot / GROUP_SIZE] >>> ((slot % GROUP_SIZE) * 8) & 0x80) == 0;
+    }
+
+  /**
+   * Private helper method that walks the probe sequence of a key, reading a key only when its tag matches
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the slot holding the key, or -1 if the key is not stored
+   */
+    private int findSlot(Object key) {
+        int hash = hash(key);
+        int tag = hash & 0x7F;
+        int mask = control.length - 1;
+        int group = (hash >>> 7) & mask;
+        for(int step = 1; ; step++) {
+            long word = control[group];
+            for(long match = matchTag(word, tag); match != 0; match &= match - 1) {
+                int slot = slotOf(group, match);
+                if(keys[slot].equals(key)) {
+                    return slot;
+                }
+            }
+            if(matchEmpty(word) != 0) {
+                return -1; // an EMPTY slot ends the probe sequence, so the key is not stored
+            }
+            group = (group + step) & mask; // triangular steps visit every group of a power of two table
+        }
+    }
+
+  /**
+   * Private helper method that stores a key known not to be in the table at the first EMPTY or DELETED
+   * slot of its probe sequence. The caller makes sure an EMPTY slot is left afterwards
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    private void insertNew(Object key, Object value) {
+        int hash = hash(key);
+        int mask = control.length - 1;
+        int group = (hash >>> 7) & mask;
+        for(int step = 1; matchFree(control[group]) == 0; step++) {
+            group = (group + step) & mask;
+        }
+        long free = matchFree(control[group]);
+        long empty = matchEmpty(control[group]);
+        int slot = slotOf(group, free);
+        if((empty & (free & -free)) == 0) {
+            tombstones--; // the slot was DELETED and is being reused
+        }
+        setControl(slot, hash & 0x7F);
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+    }
+
+  /**
+   * Inserts the provided key and value at the first free slot along the key's probe sequence
+   * @param key a KeyType, value a ValueType
+   * @throws IllegalArgumentException if the hashmap already contains this key
+   * @throws NullPointerException if the passed key is null
+   * @return None
+   */
+    @Override
+    public void put(KeyType key, ValueType value) throws IllegalArgumentException {
+        if(!this.putIfAbsent(key, value)) {
+            throw new IllegalArgumentException("key already exists in hashmap"); // check if key already exists
+        }
+    }
+
+  /**
+   * Inserts the provided key and value unless the key is already stored
+   * @param key a KeyType, value a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the entry was inserted, false if the hashmap already contains this key
+   */
+    @Override
+    public boolean putIfAbsent(KeyType key, ValueType value) {
+        if(findSlot(key) >= 0) {
+            return false; // key already exists, leave its entry unchanged
+        }
+        if(size + tombstones + 1 > keys.length * MAX_LOAD_FACTOR) {
+            resizeHelper(); // check the load factor (tombstones included) and if necessary, rehash
+        }
+        insertNew(key, value);
+        return true;
+    }
+
+  /**
+   * Checks whether the given key is stored in the hashmap
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return true if the hashmap contains the key, false otherwise
+   */
+    @Override
+    public boolean containsKey(KeyType key) {
+        return findSlot(key) >= 0;
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, a ValueType object
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType get(KeyType key) throws NoSuchElementException {
+        int slot = findSlot(key);
+        if(slot < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return (ValueType) this.values[slot];
+    }
+
+  /**
+   * Finds and returns the value stored at the key provided as an argument, or the given
+   * default when the key does not exist, without throwing
+   * @param key a KeyType, defaultValue a ValueType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the given key, or defaultValue
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public ValueType getOrDefault(KeyType key, ValueType defaultValue) {
+        int slot = findSlot(key);
+        return slot < 0 ? defaultValue : (ValueType) this.values[slot];
+    }
+
+  /**
+   * Finds and removes the entry with the key provided as an argument, and returns a reference to the
+   * value of the entry
+   * @param key a KeyType
+   * @throws NoSuchElementException if the given key does not exist in hashmap
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the removed key, a ValueType object
+   */
+    @Override
+    public ValueType remove(KeyType key) throws NoSuchElementException {
+        int slot = findSlot(key);
+        if(slot < 0) {
+            throw new NoSuchElementException("key is not contained in this collection"); // check if key doesn't exist
+        }
+        return removeSlot(slot); // return a reference to the removed value
+    }
+
+  /**
+   * Removes the entry with the key provided as an argument if it exists, without throwing
+   * @param key a KeyType
+   * @throws NullPointerException if the passed key is null
+   * @return the value stored at the removed key, or null if the key does not exist in hashmap
+   */
+    @Override
+    public ValueType removeIfPresent(KeyType key) {
+        int slot = findSlot(key);
+        return slot < 0 ? null : removeSlot(slot);
+    }
+
+  /**
+   * Private helper method that empties a slot. The slot becomes EMPTY when its group already has an
+   * EMPTY slot, since no probe sequence can then pass through the group; otherwise it becomes DELETED
+   * so that later groups of probe sequences stay reachable
+   * @param slot the slot of the entry to remove, an int
+   * @return the value of the removed entry, a ValueType object
+   */
+    @SuppressWarnings("unchecked")
+    private ValueType removeSlot(int slot) {
+        ValueType val = (ValueType) this.values[slot];
+        if(matchEmpty(control[slot / GROUP_SIZE]) != 0) {
+            setControl(slot, EMPTY);
+        } else {
+            setControl(slot, DELETED);
+            tombstones++;
+        }
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        size--; // decrement size after removal
+        return val;
+    }
+
+  /**
+   * Rehashes the hashtable once so that it can hold expectedSize entries without reaching the load factor
+   * @param expectedSize the number of entries the hashtable will hold
+   * @return None
+   */
+    @Override
+    public void ensureCapacity(int expectedSize) {
+        if(expectedSize > keys.length * MAX_LOAD_FACTOR) {
+            rehash(slotsFor((int)(expectedSize / MAX_LOAD_FACTOR) + 1));
+        }
+    }
+
+  /**
+   * Inserts a batch of entries after sizing the hashtable for all of them. When the keys are known
+   * to be unique, each entry takes the first free slot of its probe sequence without looking for a
+   * duplicate
+   * @param keys a List of KeyType, values a List of ValueType in the same order, assumeUnique
+   *        true if no key is repeated or already stored
+   * @throws IllegalArgumentException if keys and values differ in length, or if assumeUnique is
+   *         false and the hashmap already contains one of the keys
+   * @throws NullPointerException if one of the keys is null
+   * @return None
+   */
+    @Override
+    public void putAll(List<KeyType> keys, List<ValueType> values, boolean assumeUnique) {
+        if(keys.size() != values.size()) {
+            throw new IllegalArgumentException("keys and values differ in length"); // check that every key has a value
+        }
+        ensureCapacity(size + tombstones + keys.size());
+        Iterator<ValueType> valueIterator = values.iterator();
+        for(KeyType key : keys) {
+            if(assumeUnique) {
+                insertNew(key, valueIterator.next()); // room was made for every key above
+            } else {
+                this.put(key, valueIterator.next());
+            }
+        }
+    }
+
+  /**
+   * Empties every slot of the hashtable (clears table)
+   * @param None
+   * @return None
+   */
+    @Override
+    public void clear() {
+        Arrays.fill(this.control, EMPTY_GROUP);
+        Arrays.fill(this.keys, null);
+        Arrays.fill(this.values, null);
+        size = 0; // reset size
+        tombstones = 0;
+    }
+
+  /**
+   * Returns size of this hashtable
+   * @param None
+   * @return hashtable's size, an int
+   */
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+  /**
+   * Returns capacity of this hashtable
+   * @param None
+   * @return number of slots in the hashtable, an int
+   */
+    @Override
+    public int getCapacity() {
+        return this.keys.length;
+    }
+
+  /**
+   * Returns a new list with every key currently stored in the hashtable, in slot order
+   * @param None
+   * @return list of keys, a List of KeyType
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<KeyType> getKeys() {
+        List<KeyType> list = new ArrayList<>(size);
+        for(int i = 0; i < this.keys.length; i++) {
+            if(isFull(i)) {
+                list.add((KeyType) this.keys[i]);
+            }
+        }
+        return list;
+    }
+
+  /**
+   * Passes every entry to the given action, in slot order
+   * @param action a BiConsumer called with each key and its value
+   * @return None
+   */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super KeyType, ? super ValueType> action) {
+        for(int i = 0; i < this.keys.length; i++) {
+            if(isFull(i)) {
+                action.accept((KeyType) this.keys[i], (ValueType) this.values[i]);
+            }
+        }
+    }
+
+  /**
+   * Returns a cursor over every entry, in slot order
+   * @param None
+   * @return a new cursor positioned before the first entry, a MapCursor
+   */
+    @Override
+    public MapCursor<KeyType, ValueType> cursor() {
+        return new SlotCursor();
+    }
+
+    // cursor over the slots, which only keeps the index of the current slot
+    private class SlotCursor implements MapCursor<KeyType, ValueType> {
+
+        private int slot = -1;
+
+        @Override
+        public boolean next() {
+            int i = slot + 1;
+            while(i < keys.length && !isFull(i)) {
+                i++; // skip empty and deleted slots
+            }
+            slot = Math.min(i, keys.length);
+            return slot < keys.length;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public KeyType key() {
+            return (KeyType) keys[current()];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public ValueType value() {
+            return (ValueType) values[current()];
+        }
+
+        private int current() {
+            if(slot < 0 || slot >= keys.length) {
+                throw new IllegalStateException("cursor is not on an entry");
+            }
+            return slot;
+        }
+
+    }
+
+  /**
+   * Private helper method to handle rehashing of the hashtable when too few EMPTY slots remain.
+   * The table doubles when live entries fill more than half of the allowed load; when most of the
+   * pressure comes from DELETED slots it is rehashed at the same capacity, which drops them
+   * @param None
+   * @return None
+   */
+    private void resizeHelper() {
+        rehash(size + 1 > keys.length * MAX_LOAD_FACTOR / 2 ? keys.length * 2 : keys.length);
+    }
+
+  /**
+   * Private helper method that moves every entry into new arrays of the given number of slots
+   * @param slots a multiple of 8 whose number of groups is a power of two
+   * @return None
+   */
+    private void rehash(int slots) {
+        long[] oldControl = this.control;
+        Object[] oldKeys = this.keys;
+        Object[] oldValues = this.values;
+        allocate(slots);
+        size = 0;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if((oldControl[i / GROUP_SIZE] >>> ((i % GROUP_SIZE) * 8) & 0x80) == 0) {
+                insertNew(oldKeys[i], oldValues[i]); // keys are unique here, so only a free slot is needed
+            }
+        }
+    }
+
+}
@@ -0,0 +1,85 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Assertions;
+import java.util.HashMap;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+public class SwissHashtableMapTests {
+
+    /**
+     * Tests put, get, containsKey, remove and clear on a small map, including growth past the load factor
+     */
+    @Test
+    public void testBasicFunctionality() {
+        SwissHashtableMap<String, Integer> map = new SwissHashtableMap<>(5);
+        Assertions.assertEquals(8, map.getCapacity(), "Capacity should round up to one group of 8 slots.");
+        for(int i = 0; i < 7; i++) {
+            map.put("Building " + i, i);
+        }
+        Assertions.assertEquals(8, map.getCapacity(), "Seven keys in eight slots stay within a load factor of 0.875.");
+        map.put("Library", 7);
+        Assertions.assertEquals(16, map.getCapacity(), "Map should double once the load factor would be exceeded.");
+        Assertions.assertEquals(3, map.get("Building 3"), "Expected value is 3 for 'Building 3'.");
+        Assertions.assertEquals(false, map.containsKey("Building 7"), "Map should not find missing keys.");
+        Assertions.assertEquals(7, map.remove("Library"), "Removing 'Library' should return 7.");
+        Assertions.assertEquals(7, map.getSize(), "Expected size is seven after removing an element.");
+        Assertions.assertThrows(NoSuchElementException.class, () -> map.get("Library"), "get should throw for missing keys.");
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put("Building 0", 0), "put should reject stored keys.");
+        Assertions.assertThrows(NullPointerException.class, () -> map.containsKey(null), "Null keys should throw.");
+        map.clear();
+        Assertions.assertEquals(0, map.getSize(), "Map should contain no elements after clearing.");
+        Assertions.assertEquals(false, map.containsKey("Building 3"), "Map should not find keys after clearing.");
+    }
+
+    /**
+     * Tests that EMPTY and DELETED control bytes keep every remaining key reachable, by comparing a long random
+     * sequence of operations against java.util.HashMap
+     */
+    @Test
+    public void testAgainstHashMap() {
+        SwissHashtableMap<Integer, Integer> map = new SwissHashtableMap<>(8);
+        HashMap<Integer, Integer> expected = new HashMap<>();
+        Random random = new Random(18);
+        for(int i = 0; i < 50000; i++) {
+            int key = random.nextInt(600) - 300;
+            if(random.nextBoolean()) {
+                Assertions.assertEquals(!expected.containsKey(key), map.putIfAbsent(key, key * 3), "putIfAbsent should match for key " + key + ".");
+                expected.putIfAbsent(key, key * 3);
+            } else {
+                Assertions.assertEquals(expected.remove(key), map.removeIfPresent(key), "Removed value should match for key " + key + ".");
+            }
+        }
+        Assertions.assertEquals(expected.size(), map.getSize(), "Sizes should match java.util.HashMap.");
+        for(int key = -300; key < 300; key++) {
+            Assertions.assertEquals(expected.get(key), map.getOrDefault(key, null), "Every key should match java.util.HashMap.");
+        }
+        Assertions.assertEquals(true, map.getCapacity() <= 2048, "Deleted slots should be reclaimed rather than grow the table.");
+    }
+
+    /**
+     * Tests bulk loading, and that forEach and the cursor visit every entry once
+     */
+    @Test
+    public void testBulkLoadingAndIteration() {
+        SwissHashtableMap<String, Integer> map = new SwissHashtableMap<>();
+        map.putAll(List.of("a", "b", "c", "d"), List.of(1, 2, 3, 4), true);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.putAll(List.of("e", "a"), List.of(5, 1), false), "putAll should reject stored keys.");
+        Assertions.assertEquals(5, map.getSize(), "Pairs before the duplicate should stay added.");
+        int[] sum = {0};
+        map.forEach((key, value) -> sum[0] += value);
+        Assertions.assertEquals(15, sum[0], "forEach should visit every entry once.");
+        MapCursor<String, Integer> cursor = map.cursor();
+        int count = 0;
+        while(cursor.next()) {
+            Assertions.assertEquals(map.get(cursor.key()), cursor.value(), "Cursor should pair each key with its value.");
+            count++;
+        }
+        Assertions.assertEquals(5, count, "Cursor should visit every entry once.");
+        Assertions.assertEquals(5, map.getKeys().size(), "getKeys should list every key once.");
+        map.ensureCapacity(1000);
+        Assertions.assertEquals(2048, map.getCapacity(), "ensureCapacity should make room for 1000 keys.");
+        Assertions.assertEquals(4, map.get("d"), "Keys should survive rehashing.");
+    }
+
+}
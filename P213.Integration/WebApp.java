@@ -8,6 +8,7 @@ import com.sun.net.httpserver.HttpExchange;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.File;
+import java.time.Duration;
 import java.util.Scanner;
 import java.util.Map;
 import java.util.HashMap;
@@ -28,6 +29,11 @@ import java.util.stream.Stream;
  * Then visit through browser via https://cs400-web.cs.wisc.edu/CS_LOGIN/
  */
 public class WebApp {
+    // complete html pages by request query, weighed by their length in characters; pages expire so
+    // that changes to campus.dot or template.html show up within a few minutes
+    private static final CacheMap<String,String> pageCache = new CacheMap<>(4_000_000,
+	CacheMap.Policy.W_TINY_LFU, (query, html) -> html.length(), Duration.ofMinutes(5));
+
     public static void main(String[] args) throws IOException {
 	// expects the port number as a command line argument to this program
 	// or if a non-numeric argument is passed treat this like the query
@@ -63,19 +69,24 @@ public class WebApp {
 	    // extract the query (part of URI after?) part of URI
 	    String query = exchange.getRequestURI().getQuery();	    
 	    System.out.println("Received Request with query: " + query);
-	    // extract argument key-value pairs from request query
-	    Map<String,String> keyValuePairs = parseQuery(
-							  exchange.getRequestURI().getQuery());
-	    System.out.println("Query includes args: "+keyValuePairs);
+	    // answer repeated requests from the cache without loading the graph again
+	    String html = pageCache.getOrDefault(String.valueOf(query), null);
+	    if(html == null) {
+		// extract argument key-value pairs from request query
+		Map<String,String> keyValuePairs = parseQuery(
+							      exchange.getRequestURI().getQuery());
+		System.out.println("Query includes args: "+keyValuePairs);
 	    
-	    // create backend and frontend objects to respond to this request
-	    FrontendInterface frontend = createWorkingFrontend("./campus.dot");
-	    // compute answer to user's requested problem based on query args:
-	    String response = generateResponseHTML(keyValuePairs,frontend);
-	    // generate HTML prompts for user for make next requests
-	    String prompts = generatePromptHTML(frontend);
-	    // compose response and prompts into a complete html template
-	    String html = composeHTML(response,prompts);
+		// create backend and frontend objects to respond to this request
+		FrontendInterface frontend = createWorkingFrontend("./campus.dot");
+		// compute answer to user's requested problem based on query args:
+		String response = generateResponseHTML(keyValuePairs,frontend);
+		// generate HTML prompts for user for make next requests
+		String prompts = generatePromptHTML(frontend);
+		// compose response and prompts into a complete html template
+		html = composeHTML(response,prompts);
+		pageCache.putIfAbsent(String.valueOf(query), html);
+	    }
 		
 	    // complete exchange response to send this html back to requester
 	    byte[] bytes = html.getBytes();
@@ -111,7 +122,11 @@ public class WebApp {
 
     // creates a working Frontend, Backend, DijkstraGraph, and HashtableMap
     private static FrontendInterface createWorkingFrontend(String filename) throws IOException {
-	GraphADT<String,Double> graph = new DijkstraGraph<>();
+	// a Bloom filter lets lookups of misspelled or unknown building names
+	// skip the bucket scan
+	HashtableMap<String,BaseGraph<String,Double>.Node> nodes = new HashtableMap<>();
+	nodes.enableBloomFilter(0.01);
+	GraphADT<String,Double> graph = new DijkstraGraph<>(nodes);
 	BackendInterface backend = new Backend(graph);
 	backend.loadGraphData(filename);			
 	FrontendInterface frontend = new Frontend(backend);